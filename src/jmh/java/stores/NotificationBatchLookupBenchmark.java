@@ -0,0 +1,132 @@
+package stores;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import types.NotificationDetailsStoreType;
+import types.NotificationSamples;
+import utils.JSONHandler;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Looks up a batch of random keys in a RocksDB-backed store, once through
+ * {@link NotificationMasterStore#getAll} and once with a getData call per key.
+ * The record cache is off so both paths read the store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NotificationBatchLookupBenchmark {
+    private static final int BATCHES = 256;
+
+    @Param({"100000"})
+    private int records;
+
+    @Param({"10", "100", "1000"})
+    private int batchSize;
+
+    private Path stateDir;
+    private TopologyTestDriver driver;
+    private NotificationMasterStore store;
+    private List<List<String>> batches;
+    private int next;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        StreamsBuilder builder = new StreamsBuilder();
+        StreamsBuilderFactoryBean factoryBean = mock(StreamsBuilderFactoryBean.class);
+        when(factoryBean.getObject()).thenReturn(builder);
+        store = new NotificationMasterStore(factoryBean, new JSONHandler(new ObjectMapper()), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(store, "storeAwaitTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(store, "topologyMode", NotificationTopologyMode.DIRECT);
+        ReflectionTestUtils.setField(store, "storeBackend", NotificationStoreBackend.ROCKSDB);
+        ReflectionTestUtils.setField(store, "storeValueFormat", NotificationValueFormat.JSON);
+        ReflectionTestUtils.setField(store, "internalTopicValueFormat", NotificationValueFormat.JSON);
+        ReflectionTestUtils.setField(store, "bulkLoadSnapshot", "");
+        ReflectionTestUtils.setField(store, "parseErrorMode", NotificationParseErrorMode.SKIP);
+        ReflectionTestUtils.setField(store, "dateFormats", new String[]{"yyyy-MM-dd"});
+        store.init();
+
+        stateDir = Files.createTempDirectory("notification-batch-lookup");
+        Properties config = new Properties();
+        config.put(StreamsConfig.APPLICATION_ID_CONFIG, "notification-batch-lookup-benchmark");
+        config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        config.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+        driver = new TopologyTestDriver(builder.build(), config);
+        // written straight into the store: the driver flushes the global store after every piped record
+        KeyValueStore<String, NotificationDetailsStoreType> globalStore = driver.getKeyValueStore(store.STORE);
+        List<NotificationDetailsStoreType> samples = NotificationSamples.records(records, 1);
+        for (int i = 0; i < records; i++) {
+            globalStore.put(key(i), samples.get(i));
+        }
+        globalStore.flush();
+        ((AtomicReference<Object>) ReflectionTestUtils.getField(store, "storeHandle")).set(globalStore);
+        batches = new ArrayList<>(BATCHES);
+        for (int b = 0; b < BATCHES; b++) {
+            List<String> batch = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                batch.add(key(ThreadLocalRandom.current().nextInt(records)));
+            }
+            batches.add(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        driver.close();
+        store.destroy();
+        try (var paths = Files.walk(stateDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Map<String, NotificationDetailsStoreType> getAll() {
+        return store.getAll(nextBatch());
+    }
+
+    @Benchmark
+    public void getDataPerKey(Blackhole blackhole) {
+        for (String key : nextBatch()) {
+            blackhole.consume(store.getData(key));
+        }
+    }
+
+    private List<String> nextBatch() {
+        return batches.get(next++ & (BATCHES - 1));
+    }
+
+    private static String key(int i) {
+        return String.format("NOTN-%08d", i);
+    }
+}
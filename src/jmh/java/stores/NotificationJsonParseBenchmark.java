@@ -0,0 +1,59 @@
+package stores;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serdes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import types.NotificationDetailsStoreType;
+import types.NotificationSamples;
+import utils.JSONHandler;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses raw notification JSON straight from the record bytes and, as before,
+ * through a String decode first. Run with {@code -prof gc} for bytes per record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NotificationJsonParseBenchmark {
+    private static final int SAMPLES = 1024;
+
+    private JSONHandler jsonHandler;
+    private NotificationJsonDeserializer bytesDeserializer;
+    private Deserializer<String> stringDeserializer;
+    private byte[][] encoded;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        jsonHandler = new JSONHandler(objectMapper);
+        bytesDeserializer = new NotificationJsonDeserializer(jsonHandler);
+        stringDeserializer = Serdes.String().deserializer();
+        List<NotificationDetailsStoreType> records = NotificationSamples.records(SAMPLES, 1);
+        encoded = new byte[SAMPLES][];
+        for (int i = 0; i < SAMPLES; i++) {
+            encoded[i] = objectMapper.writeValueAsBytes(records.get(i));
+        }
+    }
+
+    @Benchmark
+    public NotificationDetailsStoreType fromBytes() {
+        return bytesDeserializer.deserialize("benchmark", encoded[next++ & (SAMPLES - 1)]);
+    }
+
+    @Benchmark
+    public NotificationDetailsStoreType viaString() {
+        String json = stringDeserializer.deserialize("benchmark", encoded[next++ & (SAMPLES - 1)]);
+        return jsonHandler.parse(json, NotificationDetailsStoreType.class);
+    }
+}
@@ -0,0 +1,118 @@
+package stores;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import types.NotificationDetailsStoreType;
+import types.NotificationSamples;
+import utils.JSONHandler;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Latest-value lookups through {@link NotificationMasterStore#getData(String)}
+ * on the INTERNAL_TOPIC topology, with and without the versioned history store.
+ * Every key is amended once, so the history holds two versions per key.
+ * The record cache is off so each lookup reads the global store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NotificationLatestValueBenchmark {
+    @Param({"false", "true"})
+    private boolean history;
+
+    @Param({"10000"})
+    private int records;
+
+    private Path stateDir;
+    private TopologyTestDriver driver;
+    private NotificationMasterStore store;
+    private String[] keys;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        StreamsBuilder builder = new StreamsBuilder();
+        StreamsBuilderFactoryBean factoryBean = mock(StreamsBuilderFactoryBean.class);
+        when(factoryBean.getObject()).thenReturn(builder);
+        ObjectMapper objectMapper = new ObjectMapper();
+        store = new NotificationMasterStore(factoryBean, new JSONHandler(objectMapper), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(store, "storeAwaitTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(store, "topologyMode", NotificationTopologyMode.INTERNAL_TOPIC);
+        ReflectionTestUtils.setField(store, "storeBackend", NotificationStoreBackend.ROCKSDB);
+        ReflectionTestUtils.setField(store, "storeValueFormat", NotificationValueFormat.JSON);
+        ReflectionTestUtils.setField(store, "internalTopicValueFormat", NotificationValueFormat.JSON);
+        ReflectionTestUtils.setField(store, "bulkLoadSnapshot", "");
+        ReflectionTestUtils.setField(store, "parseErrorMode", NotificationParseErrorMode.SKIP);
+        ReflectionTestUtils.setField(store, "deadLetterTopic", "NOTIFICATION_MASTER_DLQ");
+        ReflectionTestUtils.setField(store, "historyEnabled", history);
+        ReflectionTestUtils.setField(store, "historyRetentionMs", TimeUnit.DAYS.toMillis(30));
+        store.init();
+
+        stateDir = Files.createTempDirectory("notification-latest-value");
+        Properties config = new Properties();
+        config.put(StreamsConfig.APPLICATION_ID_CONFIG, "notification-latest-value-benchmark");
+        config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        config.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+        driver = new TopologyTestDriver(builder.build(), config);
+        TestInputTopic<String, byte[]> input = driver.createInputTopic(NotificationMasterStore.NOTIFICATION_MASTER_TOPIC,
+                Serdes.String().serializer(), Serdes.ByteArray().serializer());
+        List<NotificationDetailsStoreType> originals = NotificationSamples.records(records, 1);
+        List<NotificationDetailsStoreType> amendments = NotificationSamples.records(records, 2);
+        keys = new String[records];
+        for (int i = 0; i < records; i++) {
+            keys[i] = String.format("NOTN-%08d", i);
+            input.pipeInput(keys[i], objectMapper.writeValueAsBytes(originals.get(i)));
+        }
+        for (int i = 0; i < records; i++) {
+            input.pipeInput(keys[i], objectMapper.writeValueAsBytes(amendments.get(i)));
+        }
+        KeyValueStore<String, NotificationDetailsStoreType> globalStore = driver.getKeyValueStore(store.STORE);
+        if (globalStore.approximateNumEntries() == 0) {
+            throw new IllegalStateException("The global store was not loaded");
+        }
+        ((AtomicReference<Object>) ReflectionTestUtils.getField(store, "storeHandle")).set(globalStore);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        driver.close();
+        store.destroy();
+        try (var paths = Files.walk(stateDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public NotificationDetailsStoreType getLatest() {
+        return store.getData(keys[ThreadLocalRandom.current().nextInt(records)]);
+    }
+}
@@ -0,0 +1,53 @@
+package stores;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import types.NotificationDetailsStoreType;
+import types.NotificationFieldDictionary;
+import types.NotificationSamples;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache hit path of {@link NotificationMasterStore#getData(String)}, with
+ * plain and compact entries, on several reader threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class NotificationRecordCacheBenchmark {
+    private static final int KEYS = 1 << 16;
+
+    @Param({"false", "true"})
+    private boolean compact;
+
+    private NotificationRecordCache cache;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        cache = new NotificationRecordCache(1L << 30, compact ? new NotificationFieldDictionary(4096) : null);
+        List<NotificationDetailsStoreType> records = NotificationSamples.records(KEYS, 1);
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            NotificationDetailsStoreType record = records.get(i);
+            keys[i] = "key-" + i;
+            cache.get(keys[i], key -> record);
+        }
+    }
+
+    @Benchmark
+    public NotificationDetailsStoreType hit() {
+        return cache.getIfPresent(keys[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+}
@@ -0,0 +1,64 @@
+package stores;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.apache.kafka.common.serialization.Serde;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import types.NotificationDetailsStoreType;
+import types.NotificationSamples;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes sample records with each store value format, with and
+ * without the Blackbird module on the shared mapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NotificationSerdeBenchmark {
+    private static final int SAMPLES = 1024;
+
+    @Param({"JSON", "BINARY"})
+    private NotificationValueFormat format;
+
+    @Param({"false", "true"})
+    private boolean blackbird;
+
+    private Serde<NotificationDetailsStoreType> serde;
+    private List<NotificationDetailsStoreType> records;
+    private byte[][] encoded;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (blackbird) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+        serde = format.serde(objectMapper);
+        records = NotificationSamples.records(SAMPLES, 1);
+        encoded = new byte[SAMPLES][];
+        for (int i = 0; i < SAMPLES; i++) {
+            encoded[i] = serde.serializer().serialize("benchmark", records.get(i));
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serde.serializer().serialize("benchmark", records.get(next++ & (SAMPLES - 1)));
+    }
+
+    @Benchmark
+    public NotificationDetailsStoreType deserialize() {
+        return serde.deserializer().deserialize("benchmark", encoded[next++ & (SAMPLES - 1)]);
+    }
+}
@@ -0,0 +1,101 @@
+package stores;
+
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.processor.TaskId;
+import org.apache.kafka.streams.processor.api.MockProcessorContext;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.Stores;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads one page of consecutive keys from a random start, like
+ * {@link NotificationMasterStore#rangePage}, and looks up single keys, on
+ * each {@link NotificationStoreBackend}. Stores are built without caching or
+ * logging, as the notification store is.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NotificationStoreBackendBenchmark {
+    @Param({"ROCKSDB", "IN_MEMORY", "OFF_HEAP"})
+    private NotificationStoreBackend backend;
+
+    @Param({"100000", "1000000"})
+    private int keys;
+
+    @Param({"500"})
+    private int pageSize;
+
+    private Path stateDir;
+    private KeyValueStore<Bytes, byte[]> store;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        stateDir = Files.createTempDirectory("notification-store-backend");
+        Properties config = new Properties();
+        config.put(StreamsConfig.APPLICATION_ID_CONFIG, "notification-store-backend-benchmark");
+        config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        MockProcessorContext<Object, Object> context = new MockProcessorContext<>(config, new TaskId(0, 0), stateDir.toFile());
+        store = Stores.keyValueStoreBuilder(backend.supplier("benchmark", 64 << 20), Serdes.Bytes(), Serdes.ByteArray())
+                .withLoggingDisabled()
+                .withCachingDisabled()
+                .build();
+        store.init(context.getStateStoreContext(), store);
+        byte[] value = new byte[300];
+        for (int i = 0; i < keys; i++) {
+            store.put(key(i), value);
+        }
+        store.flush();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        store.close();
+        try (var paths = Files.walk(stateDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int rangePage(Blackhole blackhole) {
+        int start = ThreadLocalRandom.current().nextInt(Math.max(1, keys - pageSize));
+        int read = 0;
+        try (KeyValueIterator<Bytes, byte[]> iterator = store.range(key(start), null)) {
+            while (read < pageSize && iterator.hasNext()) {
+                blackhole.consume(iterator.next());
+                read++;
+            }
+        }
+        return read;
+    }
+
+    @Benchmark
+    public byte[] get() {
+        return store.get(key(ThreadLocalRandom.current().nextInt(keys)));
+    }
+
+    private static Bytes key(int i) {
+        return Bytes.wrap(String.format("NOTN-%010d", i).getBytes(StandardCharsets.UTF_8));
+    }
+}
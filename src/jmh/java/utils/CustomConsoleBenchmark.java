@@ -0,0 +1,84 @@
+package utils;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-record debug logging through {@link CustomConsole} with debug off and on,
+ * next to the old concatenate-then-log call. Events are formatted into a
+ * discarding stream. Run with {@code -prof gc} for bytes per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomConsoleBenchmark {
+    @Param({"INFO", "DEBUG"})
+    private String level;
+
+    private Logger logger;
+    private OutputStreamAppender<ILoggingEvent> appender;
+    private CustomConsole customConsole;
+    private String prefix;
+    private String key;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %-5level [%thread] %logger - %msg%n");
+        encoder.start();
+        appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        logger = context.getLogger(CustomConsole.class);
+        logger.setLevel(Level.valueOf(level));
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        customConsole = new CustomConsole("benchmark");
+        prefix = "[a1b2c][benchmark]";
+        key = "NOTN-00000042";
+    }
+
+    @TearDown
+    public void tearDown() {
+        logger.detachAppender(appender);
+        appender.stop();
+        logger.setAdditive(true);
+        logger.setLevel(null);
+    }
+
+    @Benchmark
+    public void concatenated() {
+        logger.debug(prefix + " - " + "Loaded notification {}", key);
+    }
+
+    @Benchmark
+    public void debug() {
+        customConsole.debug("Loaded notification {}", key);
+    }
+
+    @Benchmark
+    public void debugSupplier() {
+        customConsole.debug(() -> "Loaded notification " + key);
+    }
+}
@@ -0,0 +1,71 @@
+package utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import types.NotificationSamples;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes sample notification trees to bytes through each write path and
+ * through stringify plus encoding. Run with {@code -prof gc} for bytes per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JSONHandlerWriteBenchmark {
+    private static final int SAMPLES = 1024;
+
+    private JSONHandler jsonHandler;
+    private JsonNode[] nodes;
+    private ByteArrayOutputStream out;
+    private ByteBuffer buffer;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        jsonHandler = new JSONHandler(objectMapper);
+        nodes = NotificationSamples.records(SAMPLES, 1).stream()
+                .map(objectMapper::valueToTree)
+                .toArray(JsonNode[]::new);
+        out = new ByteArrayOutputStream(64 * 1024);
+        buffer = ByteBuffer.allocate(64 * 1024);
+    }
+
+    @Benchmark
+    public byte[] stringifyThenEncode() {
+        return jsonHandler.stringify(nextNode()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] toBytes() {
+        return jsonHandler.toBytes(nextNode());
+    }
+
+    @Benchmark
+    public int writeToStream() {
+        out.reset();
+        return jsonHandler.writeTo(nextNode(), out);
+    }
+
+    @Benchmark
+    public int writeToBuffer() {
+        buffer.clear();
+        return jsonHandler.writeTo(nextNode(), buffer);
+    }
+
+    private JsonNode nextNode() {
+        return nodes[next++ & (SAMPLES - 1)];
+    }
+}
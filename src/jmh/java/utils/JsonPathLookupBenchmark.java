@@ -0,0 +1,92 @@
+package utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import types.NotificationDetailsStoreType;
+import types.NotificationSamples;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the same fields out of a nested notification document with repeated
+ * {@link JSONHandler#at} calls, compiled paths, and one {@link JsonPathExtractor}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonPathLookupBenchmark {
+    private static final int ITEMS = 20;
+    private static final String[] POINTERS = {
+            "/notification/header/NOTN",
+            "/notification/header/NOTN_DT",
+            "/notification/header/PORT",
+            "/notification/header/CTH",
+            "/notification/items/0/SLNO",
+            "/notification/items/19/RTA"
+    };
+
+    private JSONHandler jsonHandler;
+    private JsonNode document;
+    private JsonPathExpression[] compiled;
+    private JsonPathExtractor extractor;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        jsonHandler = new JSONHandler(objectMapper);
+        List<NotificationDetailsStoreType> records = NotificationSamples.records(ITEMS + 1, 1);
+        ObjectNode notification = objectMapper.createObjectNode();
+        notification.set("header", objectMapper.valueToTree(records.get(0)));
+        ArrayNode items = notification.putArray("items");
+        for (int i = 1; i <= ITEMS; i++) {
+            items.add(objectMapper.<JsonNode>valueToTree(records.get(i)));
+        }
+        document = objectMapper.createObjectNode().set("notification", notification);
+        compiled = new JsonPathExpression[POINTERS.length];
+        Map<String, String> namedPaths = new LinkedHashMap<>();
+        for (int i = 0; i < POINTERS.length; i++) {
+            compiled[i] = jsonHandler.compilePath(POINTERS[i]);
+            namedPaths.put(POINTERS[i], POINTERS[i]);
+        }
+        extractor = jsonHandler.compileExtractor(namedPaths);
+    }
+
+    @Benchmark
+    public void repeatedAt(Blackhole blackhole) {
+        for (String pointer : POINTERS) {
+            blackhole.consume(jsonHandler.at(document, pointer));
+        }
+    }
+
+    @Benchmark
+    public void repeatedAtView(Blackhole blackhole) {
+        for (String pointer : POINTERS) {
+            blackhole.consume(jsonHandler.atView(document, pointer));
+        }
+    }
+
+    @Benchmark
+    public void compiledPaths(Blackhole blackhole) {
+        for (JsonPathExpression path : compiled) {
+            blackhole.consume(jsonHandler.atView(document, path));
+        }
+    }
+
+    @Benchmark
+    public Map<String, JsonNode> extractor() {
+        return extractor.extract(document);
+    }
+}
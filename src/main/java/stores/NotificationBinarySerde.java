@@ -0,0 +1,177 @@
+package stores;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import types.NotificationDetailsColumns;
+import types.NotificationDetailsStoreType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Schema-versioned binary encoding of {@link NotificationDetailsStoreType}.
+ * <pre>
+ * v2: magic(1) version(1) varint(columns) nullBitmap(ceil(columns / 8)) zigzagVarint(AMTS) { varint(len) utf8 }*
+ * v1: magic(1) version(1) nullBitmap(6) zigzagVarint(AMTS) { varint(len) utf8 }*, always 44 columns
+ * </pre>
+ * String columns follow {@link NotificationDetailsColumns} order and only non-null
+ * columns are written. Columns a reader does not know are skipped and columns a
+ * writer did not know stay null, so columns can be appended without a new version.
+ * Values that do not start with the magic byte are read as JSON, so stores and
+ * topics written by the JSON serde stay readable while they migrate.
+ */
+public class NotificationBinarySerde implements Serde<NotificationDetailsStoreType> {
+    public static final byte MAGIC = (byte) 0xFE;
+    public static final byte VERSION = 2;
+    static final byte VERSION_1 = 1;
+    private static final int VERSION_1_COLUMNS = 44;
+
+    private final NotificationBinarySerializer serializer = new NotificationBinarySerializer();
+    private final NotificationBinaryDeserializer deserializer;
+
+    public NotificationBinarySerde() {
+        this(JacksonUtils.enhancedObjectMapper());
+    }
+
+    /**
+     * @param objectMapper Mapper for values that are still JSON
+     */
+    public NotificationBinarySerde(ObjectMapper objectMapper) {
+        this.deserializer = new NotificationBinaryDeserializer(objectMapper);
+    }
+
+    @Override
+    public Serializer<NotificationDetailsStoreType> serializer() {
+        return serializer;
+    }
+
+    @Override
+    public Deserializer<NotificationDetailsStoreType> deserializer() {
+        return deserializer;
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 0 && data[0] == MAGIC;
+    }
+
+    public static class NotificationBinarySerializer implements Serializer<NotificationDetailsStoreType> {
+        @Override
+        public byte[] serialize(String topic, NotificationDetailsStoreType data) {
+            if (data == null) {
+                return null;
+            }
+            return encode(data);
+        }
+    }
+
+    public static class NotificationBinaryDeserializer implements Deserializer<NotificationDetailsStoreType> {
+        private final JsonDeserializer<NotificationDetailsStoreType> jsonDeserializer;
+
+        public NotificationBinaryDeserializer(ObjectMapper objectMapper) {
+            this.jsonDeserializer = new JsonDeserializer<>(NotificationDetailsStoreType.class, objectMapper, false);
+        }
+
+        @Override
+        public NotificationDetailsStoreType deserialize(String topic, byte[] data) {
+            if (data == null) {
+                return null;
+            }
+            if (!isBinary(data)) {
+                return jsonDeserializer.deserialize(topic, data);
+            }
+            return decode(data, 0, data.length);
+        }
+
+        @Override
+        public void close() {
+            jsonDeserializer.close();
+        }
+    }
+
+    public static byte[] encode(NotificationDetailsStoreType record) {
+        String[] columns = NotificationDetailsColumns.toColumns(record);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        byte[] bitmap = new byte[(columns.length + 7) / 8];
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] == null) {
+                bitmap[i >>> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        out.write(MAGIC);
+        out.write(VERSION);
+        writeVarint(out, columns.length);
+        out.writeBytes(bitmap);
+        writeVarint(out, (record.AMTS() << 1) ^ (record.AMTS() >> 31));
+        for (String column : columns) {
+            if (column != null) {
+                byte[] bytes = column.getBytes(StandardCharsets.UTF_8);
+                writeVarint(out, bytes.length);
+                out.writeBytes(bytes);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static NotificationDetailsStoreType decode(byte[] data, int offset, int length) {
+        int end = offset + length;
+        if (length < 2 || data[offset] != MAGIC) {
+            throw new SerializationException("Not a binary notification record");
+        }
+        int[] position = {offset + 2};
+        int written = switch (data[offset + 1]) {
+            case VERSION_1 -> VERSION_1_COLUMNS;
+            case VERSION -> readVarint(data, position, end);
+            default -> throw new SerializationException("Unsupported notification record version " + data[offset + 1]);
+        };
+        int bitmapOffset = position[0];
+        if (written < 0 || bitmapOffset + (written + 7L) / 8 > end) {
+            throw new SerializationException("Truncated notification record");
+        }
+        position[0] += (written + 7) / 8;
+        int zigzag = readVarint(data, position, end);
+        int amts = (zigzag >>> 1) ^ -(zigzag & 1);
+        String[] columns = new String[NotificationDetailsColumns.COUNT];
+        for (int i = 0; i < written; i++) {
+            if ((data[bitmapOffset + (i >>> 3)] & (1 << (i & 7))) != 0) {
+                continue;
+            }
+            int size = readVarint(data, position, end);
+            if (size < 0 || position[0] + size > end) {
+                throw new SerializationException("Truncated notification record");
+            }
+            if (i < columns.length) {
+                columns[i] = new String(data, position[0], size, StandardCharsets.UTF_8);
+            }
+            position[0] += size;
+        }
+        return NotificationDetailsColumns.fromColumns(columns, amts);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] data, int[] position, int end) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (position[0] >= end) {
+                throw new SerializationException("Truncated notification record");
+            }
+            byte b = data[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed varint in notification record");
+    }
+}
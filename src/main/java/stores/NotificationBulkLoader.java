@@ -0,0 +1,452 @@
+package stores;
+
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.streams.state.internals.OffsetCheckpoint;
+import org.rocksdb.CompactionStyle;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+import types.NotificationDetailsStoreType;
+import types.NotificationSnapshotEntry;
+import utils.CustomConsole;
+import utils.JSONHandler;
+import utils.MappedFileInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Builds the RocksDB files of the notification store offline from a snapshot,
+ * so a new environment does not have to replay the whole topic before serving.
+ * <p>
+ * The snapshot is cut into byte ranges that parallel workers parse, sort and
+ * write as SST files. The files are then ingested in snapshot order, so a key
+ * that appears more than once ends up with its last value. The finished
+ * database replaces the store directory only if there was none, and the
+ * offsets sidecar ({@code <snapshot>.offsets}, in Kafka Streams' checkpoint
+ * format) becomes the global checkpoint, so the global table resumes from the
+ * offsets the snapshot was taken at.
+ */
+public class NotificationBulkLoader {
+    public static final String OFFSETS_SUFFIX = ".offsets";
+    private static final String GLOBAL_CHECKPOINT = ".checkpoint";
+    private static final String STAGING_SUFFIX = ".bulk-load";
+    private static final String SST_SUFFIX = ".bulk-load-sst";
+    private static final long MIN_SPLIT_BYTES = 1 << 20;
+    private static final int READ_BUFFER_BYTES = 1 << 16;
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private final CustomConsole customConsole = new CustomConsole();
+    private final JSONHandler jsonHandler;
+    private final Serializer<NotificationDetailsStoreType> valueSerializer;
+    private final int workers;
+    private final long chunkBytes;
+
+    /**
+     * @param valueSerializer Serializer of the store's value format
+     * @param workers Number of parallel parse/sort workers
+     * @param chunkBytes Approximate bytes a worker buffers before writing an SST file
+     */
+    public NotificationBulkLoader(JSONHandler jsonHandler, Serializer<NotificationDetailsStoreType> valueSerializer,
+                                  int workers, long chunkBytes) {
+        if (workers <= 0 || chunkBytes <= 0) {
+            throw new IllegalArgumentException("workers and chunkBytes must be positive");
+        }
+        this.jsonHandler = jsonHandler;
+        this.valueSerializer = valueSerializer;
+        this.workers = workers;
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * @param snapshot Snapshot file; its offsets sidecar must exist next to it
+     * @param globalStateDir {@code <state.dir>/<application.id>/global}
+     * @param storeName Name of the global store
+     * @param sourceTopic Topic the global store is built from; the sidecar may only name its partitions
+     * @return The number of snapshot records loaded, or -1 if the store already existed and was left alone
+     */
+    public long load(File snapshot, NotificationSnapshotFormat format, File globalStateDir, String storeName,
+                     String sourceTopic) throws IOException {
+        File storeDir = new File(new File(globalStateDir, "rocksdb"), storeName);
+        if (storeDir.exists()) {
+            customConsole.info("Skipping bulk load of {}: {} already exists", storeName, storeDir);
+            return -1;
+        }
+        Map<TopicPartition, Long> offsets = readOffsets(snapshot, sourceTopic);
+        File stagingDir = new File(storeDir.getPath() + STAGING_SUFFIX);
+        File sstDir = new File(storeDir.getPath() + SST_SUFFIX);
+        deleteRecursively(stagingDir);
+        deleteRecursively(sstDir);
+        Files.createDirectories(stagingDir.toPath());
+        Files.createDirectories(sstDir.toPath());
+
+        long started = System.nanoTime();
+        try {
+            List<SplitResult> results = writeSplits(snapshot, format, sstDir);
+            long records = results.stream().mapToLong(SplitResult::records).sum();
+            ingest(stagingDir, results);
+            Files.move(stagingDir.toPath(), storeDir.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            writeCheckpoint(globalStateDir, offsets);
+            customConsole.info("Bulk loaded {} records into {} from {} in {} ms", records, storeName, snapshot,
+                    (System.nanoTime() - started) / 1_000_000);
+            return records;
+        } catch (IOException | RuntimeException e) {
+            deleteRecursively(stagingDir);
+            throw e;
+        } finally {
+            deleteRecursively(sstDir);
+        }
+    }
+
+    private Map<TopicPartition, Long> readOffsets(File snapshot, String sourceTopic) throws IOException {
+        File sidecar = new File(snapshot.getPath() + OFFSETS_SUFFIX);
+        if (!sidecar.isFile()) {
+            throw new IOException(String.format("Offsets sidecar %s not found", sidecar));
+        }
+        Map<TopicPartition, Long> offsets = new OffsetCheckpoint(sidecar).read();
+        if (offsets.isEmpty()) {
+            throw new IOException(String.format("Offsets sidecar %s is empty", sidecar));
+        }
+        for (TopicPartition partition : offsets.keySet()) {
+            if (!partition.topic().equals(sourceTopic)) {
+                throw new IOException(String.format("Offsets sidecar %s names %s, expected partitions of %s",
+                        sidecar, partition, sourceTopic));
+            }
+        }
+        return offsets;
+    }
+
+    private List<SplitResult> writeSplits(File snapshot, NotificationSnapshotFormat format, File sstDir) throws IOException {
+        long[] boundaries = format == NotificationSnapshotFormat.BINARY ? binaryBoundaries(snapshot) : lineBoundaries(snapshot);
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers, boundaries.length - 1), runnable -> {
+            Thread thread = new Thread(runnable, "notification-bulk-load-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<SplitResult>> futures = new ArrayList<>();
+            for (int split = 0; split < boundaries.length - 1; split++) {
+                long start = boundaries[split];
+                long end = boundaries[split + 1];
+                SplitWriter writer = new SplitWriter(sstDir, split);
+                futures.add(executor.submit(() -> format == NotificationSnapshotFormat.BINARY
+                        ? readBinarySplit(snapshot, start, end, writer)
+                        : readLineSplit(snapshot, start, end, writer)));
+            }
+            List<SplitResult> results = new ArrayList<>();
+            for (Future<SplitResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while bulk loading", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void ingest(File dbDir, List<SplitResult> results) throws IOException {
+        RocksDB.loadLibrary();
+        try (Options options = new Options()
+                .setCreateIfMissing(true)
+                // matches the compaction style Kafka Streams opens its stores with
+                .setCompactionStyle(CompactionStyle.UNIVERSAL);
+             IngestExternalFileOptions ingestOptions = new IngestExternalFileOptions().setMoveFiles(true);
+             RocksDB db = RocksDB.open(options, dbDir.getPath())) {
+            for (SplitResult result : results) {
+                for (File file : result.files()) {
+                    db.ingestExternalFile(List.of(file.getPath()), ingestOptions);
+                }
+            }
+            db.compactRange();
+        } catch (RocksDBException e) {
+            throw new IOException(String.format("Error ingesting SST files into %s", dbDir), e);
+        }
+    }
+
+    private void writeCheckpoint(File globalStateDir, Map<TopicPartition, Long> offsets) throws IOException {
+        OffsetCheckpoint checkpoint = new OffsetCheckpoint(new File(globalStateDir, GLOBAL_CHECKPOINT));
+        Map<TopicPartition, Long> merged = new HashMap<>(checkpoint.read());
+        merged.putAll(offsets);
+        checkpoint.write(merged);
+    }
+
+    // ==================== Splitting ====================
+
+    private int splitCount(File snapshot) {
+        return (int) Math.max(1, Math.min(workers, snapshot.length() / MIN_SPLIT_BYTES));
+    }
+
+    /**
+     * Split points just after a newline near each even share of the file.
+     */
+    private long[] lineBoundaries(File snapshot) throws IOException {
+        long size = snapshot.length();
+        int splits = splitCount(snapshot);
+        long[] boundaries = new long[splits + 1];
+        boundaries[splits] = size;
+        for (int i = 1; i < splits; i++) {
+            long target = Math.max(boundaries[i - 1], size * i / splits);
+            try (InputStream in = new BufferedInputStream(new MappedFileInputStream(snapshot), READ_BUFFER_BYTES)) {
+                long position = target - 1;
+                in.skipNBytes(position);
+                int b;
+                while ((b = in.read()) != -1 && b != '\n') {
+                    position++;
+                }
+                boundaries[i] = Math.min(size, position + 1);
+            }
+        }
+        return boundaries;
+    }
+
+    /**
+     * Split points on record boundaries, found by walking the length prefixes.
+     */
+    private long[] binaryBoundaries(File snapshot) throws IOException {
+        long size = snapshot.length();
+        if (size == 0) {
+            return new long[]{0, 0};
+        }
+        int splits = splitCount(snapshot);
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new MappedFileInputStream(snapshot), READ_BUFFER_BYTES))) {
+            long position = 0;
+            while (position < size) {
+                if (boundaries.size() < splits && position >= size * boundaries.size() / splits) {
+                    boundaries.add(position);
+                }
+                int keyLength = in.readInt();
+                in.skipNBytes(keyLength);
+                int valueLength = in.readInt();
+                in.skipNBytes(Math.max(0, valueLength));
+                position += 8L + keyLength + Math.max(0, valueLength);
+            }
+        }
+        boundaries.add(size);
+        return boundaries.stream().distinct().mapToLong(Long::longValue).toArray();
+    }
+
+    // ==================== Split Readers ====================
+
+    private SplitResult readLineSplit(File snapshot, long start, long end, SplitWriter writer) throws IOException {
+        try (InputStream in = openRange(snapshot, start, end)) {
+            byte[] line = new byte[4096];
+            int length = 0;
+            long lineStart = start;
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\n') {
+                    writeLine(line, length, lineStart, writer);
+                    lineStart += length + 1;
+                    length = 0;
+                    continue;
+                }
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, line.length * 2);
+                }
+                line[length++] = (byte) b;
+            }
+            writeLine(line, length, lineStart, writer);
+        }
+        return writer.finish();
+    }
+
+    private void writeLine(byte[] line, int length, long position, SplitWriter writer) throws IOException {
+        if (isBlank(line, length)) {
+            return;
+        }
+        NotificationSnapshotEntry entry;
+        try {
+            entry = jsonHandler.readerFor(NotificationSnapshotEntry.class).readValue(line, 0, length);
+        } catch (IOException e) {
+            throw new IOException(String.format("Malformed snapshot line at byte %d", position), e);
+        }
+        if (entry.key() == null) {
+            throw new IOException(String.format("Snapshot line at byte %d has no key", position));
+        }
+        writer.put(entry.key().getBytes(StandardCharsets.UTF_8),
+                entry.value() != null ? valueSerializer.serialize(null, entry.value()) : null);
+    }
+
+    private SplitResult readBinarySplit(File snapshot, long start, long end, SplitWriter writer) throws IOException {
+        try (DataInputStream in = new DataInputStream(openRange(snapshot, start, end))) {
+            long remaining = end - start;
+            while (remaining > 0) {
+                byte[] key = new byte[in.readInt()];
+                in.readFully(key);
+                int valueLength = in.readInt();
+                byte[] value = null;
+                if (valueLength >= 0) {
+                    byte[] encoded = new byte[valueLength];
+                    in.readFully(encoded);
+                    value = valueSerializer.serialize(null, NotificationBinarySerde.decode(encoded, 0, valueLength));
+                }
+                writer.put(key, value);
+                remaining -= 8L + key.length + Math.max(0, valueLength);
+            }
+        }
+        return writer.finish();
+    }
+
+    private static InputStream openRange(File snapshot, long start, long end) throws IOException {
+        MappedFileInputStream in = new MappedFileInputStream(snapshot);
+        in.skipNBytes(start);
+        return new BufferedInputStream(new RangeInputStream(in, end - start), READ_BUFFER_BYTES);
+    }
+
+    private static boolean isBlank(byte[] line, int length) {
+        for (int i = 0; i < length; i++) {
+            if (!Character.isWhitespace(line[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void deleteRecursively(File dir) throws IOException {
+        if (!dir.exists()) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir.toPath())) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private record SplitResult(List<File> files, long records) {
+    }
+
+    /**
+     * Buffers one split's entries sorted by key and writes them out as SST
+     * files of roughly {@code chunkBytes}. Later entries for a key replace
+     * earlier ones in the buffer; across files, ingestion order decides.
+     */
+    private final class SplitWriter {
+        private final File sstDir;
+        private final int split;
+        private final TreeMap<byte[], byte[]> buffer = new TreeMap<>(Arrays::compareUnsigned);
+        private final List<File> files = new ArrayList<>();
+        private long bufferedBytes;
+        private long records;
+
+        private SplitWriter(File sstDir, int split) {
+            this.sstDir = sstDir;
+            this.split = split;
+        }
+
+        private void put(byte[] key, byte[] value) throws IOException {
+            buffer.put(key, value);
+            records++;
+            bufferedBytes += ENTRY_OVERHEAD_BYTES + key.length + (value != null ? value.length : 0);
+            if (bufferedBytes >= chunkBytes) {
+                flush();
+            }
+        }
+
+        private SplitResult finish() throws IOException {
+            flush();
+            return new SplitResult(files, records);
+        }
+
+        private void flush() throws IOException {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            File file = new File(sstDir, String.format("split-%05d-%05d.sst", split, files.size()));
+            try (EnvOptions envOptions = new EnvOptions();
+                 Options options = new Options();
+                 SstFileWriter writer = new SstFileWriter(envOptions, options)) {
+                writer.open(file.getPath());
+                for (Map.Entry<byte[], byte[]> entry : buffer.entrySet()) {
+                    if (entry.getValue() == null) {
+                        writer.delete(entry.getKey());
+                    } else {
+                        writer.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                writer.finish();
+            } catch (RocksDBException e) {
+                throw new IOException(String.format("Error writing SST file %s", file), e);
+            }
+            files.add(file);
+            buffer.clear();
+            bufferedBytes = 0;
+        }
+    }
+
+    /**
+     * Ends the stream after a fixed number of bytes.
+     */
+    private static final class RangeInputStream extends FilterInputStream {
+        private long remaining;
+
+        private RangeInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int count = super.read(b, off, (int) Math.min(len, remaining));
+            if (count > 0) {
+                remaining -= count;
+            }
+            return count;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+    }
+}
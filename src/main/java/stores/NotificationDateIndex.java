@@ -0,0 +1,100 @@
+package stores;
+
+import types.NotificationDates;
+import types.NotificationDetailsStoreType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Parsed dates per notification key plus effective-date indexes. Notifications
+ * with an end date are ordered by NOTN_ENDT and open-ended ones by NOTN_DT, so
+ * "in force on day D" is a tail range of the first and a head range of the second.
+ */
+public class NotificationDateIndex {
+    private final NotificationDateParser parser;
+    private final ConcurrentHashMap<String, NotificationDates> datesByKey = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, NavigableSet<String>> keysByEndDay = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Integer, NavigableSet<String>> openEndedByStartDay = new ConcurrentSkipListMap<>();
+
+    public NotificationDateIndex(NotificationDateParser parser) {
+        this.parser = parser;
+    }
+
+    public void update(String key, NotificationDetailsStoreType newValue) {
+        NotificationDates current = newValue != null ? parser.parse(newValue) : null;
+        NotificationDates previous = current != null ? datesByKey.put(key, current) : datesByKey.remove(key);
+        if (previous != null && (current == null || bucket(previous) != bucket(current) || day(previous) != day(current))) {
+            bucket(previous).computeIfPresent(day(previous), (day, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+        if (current != null) {
+            // adding inside compute keeps a concurrent remove from dropping the set the key goes into
+            bucket(current).compute(day(current), (day, keys) -> {
+                if (keys == null) {
+                    keys = new ConcurrentSkipListSet<>();
+                }
+                keys.add(key);
+                return keys;
+            });
+        }
+    }
+
+    /**
+     * Re-checks a key read back for {@link #effectiveOn} against its current
+     * dates, which the update path keeps in step with the store.
+     */
+    public boolean matches(String key, long epochDay) {
+        NotificationDates dates = datesByKey.get(key);
+        return dates != null && dates.isEffectiveOn(epochDay);
+    }
+
+    public NotificationDates get(String key) {
+        return datesByKey.get(key);
+    }
+
+    /**
+     * @param epochDay The day to check
+     * @return Keys of notifications in force on the day
+     */
+    public List<String> effectiveOn(long epochDay) {
+        List<String> keys = new ArrayList<>();
+        if (epochDay > Integer.MAX_VALUE || epochDay <= NotificationDates.NONE) {
+            return keys;
+        }
+        collect(keysByEndDay.tailMap((int) epochDay, true), epochDay, keys);
+        collect(openEndedByStartDay.headMap((int) epochDay, true), epochDay, keys);
+        return keys;
+    }
+
+    public void clear() {
+        datesByKey.clear();
+        keysByEndDay.clear();
+        openEndedByStartDay.clear();
+    }
+
+    private void collect(Map<Integer, NavigableSet<String>> buckets, long epochDay, List<String> keys) {
+        for (NavigableSet<String> bucket : buckets.values()) {
+            for (String key : bucket) {
+                if (matches(key, epochDay)) {
+                    keys.add(key);
+                }
+            }
+        }
+    }
+
+    private ConcurrentSkipListMap<Integer, NavigableSet<String>> bucket(NotificationDates dates) {
+        return dates.NOTN_ENDT() == NotificationDates.NONE ? openEndedByStartDay : keysByEndDay;
+    }
+
+    private static int day(NotificationDates dates) {
+        return dates.NOTN_ENDT() == NotificationDates.NONE ? dates.NOTN_DT() : dates.NOTN_ENDT();
+    }
+}
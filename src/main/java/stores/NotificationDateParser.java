@@ -0,0 +1,91 @@
+package stores;
+
+import types.NotificationDates;
+import types.NotificationDetailsStoreType;
+
+import java.text.ParsePosition;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+
+/**
+ * Parses the notification date strings into epoch days, trying each
+ * configured pattern in turn.
+ */
+public class NotificationDateParser {
+    private static final ChronoField[] TIME_FIELDS = {
+            ChronoField.HOUR_OF_DAY, ChronoField.MINUTE_OF_HOUR, ChronoField.SECOND_OF_MINUTE};
+
+    private final DateTimeFormatter[] formatters;
+
+    public NotificationDateParser(String... patterns) {
+        formatters = new DateTimeFormatter[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            formatters[i] = new DateTimeFormatterBuilder()
+                    .parseCaseInsensitive()
+                    .appendPattern(patterns[i].trim())
+                    .toFormatter(Locale.ENGLISH);
+        }
+    }
+
+    public NotificationDates parse(NotificationDetailsStoreType record) {
+        return new NotificationDates(
+                toEpochDay(record.NOTN_DT()),
+                toEpochDay(record.NOTN_ENDT()),
+                toEpochDay(record.A_NOTN_DT()),
+                toEpochDay(record.AMEND_DT()),
+                toEpochDay(record.ENTRY_DT()),
+                toEpochDay(record.SBMT_DT()),
+                toEpochDay(record.NOTN_IDT())
+        );
+    }
+
+    /**
+     * Picks the pattern by a non-throwing unresolved parse, so unmatched
+     * patterns cost no exception. Like the SMART resolver, a day past the end
+     * of its month is moved back to the month's last day.
+     * @return The epoch day, or {@link NotificationDates#NONE} if the value is blank or matches no pattern
+     */
+    public int toEpochDay(String value) {
+        if (value == null || value.isBlank()) {
+            return NotificationDates.NONE;
+        }
+        String text = value.trim();
+        for (DateTimeFormatter formatter : formatters) {
+            ParsePosition position = new ParsePosition(0);
+            TemporalAccessor fields = formatter.parseUnresolved(text, position);
+            if (fields == null || position.getErrorIndex() >= 0 || position.getIndex() != text.length()) {
+                continue;
+            }
+            int epochDay = toEpochDay(fields);
+            if (epochDay != NotificationDates.NONE) {
+                return epochDay;
+            }
+        }
+        return NotificationDates.NONE;
+    }
+
+    private static int toEpochDay(TemporalAccessor fields) {
+        ChronoField yearField = fields.isSupported(ChronoField.YEAR) ? ChronoField.YEAR : ChronoField.YEAR_OF_ERA;
+        if (!fields.isSupported(yearField) || !fields.isSupported(ChronoField.MONTH_OF_YEAR)
+                || !fields.isSupported(ChronoField.DAY_OF_MONTH)) {
+            return NotificationDates.NONE;
+        }
+        long year = fields.getLong(yearField);
+        long month = fields.getLong(ChronoField.MONTH_OF_YEAR);
+        long day = fields.getLong(ChronoField.DAY_OF_MONTH);
+        if (!ChronoField.YEAR.range().isValidValue(year) || month < 1 || month > 12 || day < 1 || day > 31) {
+            return NotificationDates.NONE;
+        }
+        for (ChronoField timeField : TIME_FIELDS) {
+            if (fields.isSupported(timeField) && !timeField.range().isValidValue(fields.getLong(timeField))) {
+                return NotificationDates.NONE;
+            }
+        }
+        YearMonth yearMonth = YearMonth.of((int) year, (int) month);
+        return (int) yearMonth.atDay((int) Math.min(day, yearMonth.lengthOfMonth())).toEpochDay();
+    }
+}
@@ -0,0 +1,25 @@
+package stores;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+/**
+ * Declares the dead-letter topic when parse errors are dead-lettered, so
+ * Spring's KafkaAdmin creates it at startup with the broker's default
+ * partition count and replication factor. Brokers or ACLs that forbid topic
+ * creation need the topic created up front instead.
+ */
+@Configuration
+@ConditionalOnProperty(name = "notification.parse-errors.mode", havingValue = "DEAD_LETTER")
+public class NotificationDeadLetterTopicConfiguration {
+
+    @Bean
+    public NewTopic notificationDeadLetterTopic(
+            @Value("${notification.parse-errors.dead-letter-topic:NOTIFICATION_MASTER_DLQ}") String deadLetterTopic) {
+        return TopicBuilder.name(deadLetterTopic).build();
+    }
+}
@@ -0,0 +1,66 @@
+package stores;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueStore;
+import types.NotificationDetailsStoreType;
+import utils.CustomConsole;
+
+/**
+ * Global store processor that parses raw notification JSON bytes and writes
+ * the record into the store; null values delete the key. Global processors
+ * cannot produce, so malformed records are counted and skipped unless the
+ * error mode is FAIL.
+ */
+public class NotificationGlobalStoreProcessor implements Processor<String, byte[], Void, Void> {
+    private final String storeName;
+    private final CustomConsole customConsole = new CustomConsole();
+    private final Deserializer<NotificationDetailsStoreType> deserializer;
+    private final NotificationParseErrorMode errorMode;
+    private final NotificationParseMetrics metrics;
+    private ProcessorContext<Void, Void> context;
+    private KeyValueStore<String, NotificationDetailsStoreType> store;
+
+    public NotificationGlobalStoreProcessor(String storeName, Deserializer<NotificationDetailsStoreType> deserializer,
+                                            NotificationParseErrorMode errorMode, NotificationParseMetrics metrics) {
+        this.storeName = storeName;
+        this.deserializer = deserializer;
+        this.errorMode = errorMode;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void init(ProcessorContext<Void, Void> context) {
+        this.context = context;
+        store = context.getStateStore(storeName);
+    }
+
+    @Override
+    public void process(Record<String, byte[]> record) {
+        if (record.key() == null) {
+            return;
+        }
+        if (record.value() == null) {
+            store.delete(record.key());
+            return;
+        }
+        NotificationDetailsStoreType value;
+        try {
+            value = deserializer.deserialize(storeName, record.value());
+        } catch (SerializationException e) {
+            metrics.failed();
+            if (errorMode == NotificationParseErrorMode.FAIL) {
+                throw e;
+            }
+            customConsole.warnRateLimited("Skipping malformed notification {} at {}: {}", record.key(),
+                    context.recordMetadata().map(m -> m.topic() + "-" + m.partition() + "@" + m.offset()).orElse("unknown offset"),
+                    e.getCause() != null ? e.getCause().toString() : e.toString());
+            return;
+        }
+        metrics.parsed();
+        store.put(record.key(), value);
+    }
+}
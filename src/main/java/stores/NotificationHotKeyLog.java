@@ -0,0 +1,47 @@
+package stores;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Persists the hottest notification keys, one per line and hottest first, so
+ * a freshly started instance can warm its cache with them.
+ */
+public class NotificationHotKeyLog {
+    private final Path file;
+
+    public NotificationHotKeyLog(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Replaces the log atomically, so a crash mid-write keeps the previous one.
+     */
+    public void save(Collection<String> hottestFirst) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, hottestFirst, StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return Up to limit keys, hottest first; empty if nothing was saved yet
+     */
+    public List<String> load(int limit) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return List.of();
+        }
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return lines.filter(line -> !line.isBlank()).limit(limit).toList();
+        }
+    }
+}
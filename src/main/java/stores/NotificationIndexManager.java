@@ -0,0 +1,118 @@
+package stores;
+
+import types.NotificationDetailsStoreType;
+import utils.CustomConsole;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the secondary indexes of a store, rebuilding them from a full scan
+ * each time the store comes up, since restoration bypasses the update path.
+ */
+public class NotificationIndexManager implements AutoCloseable {
+    private final CustomConsole customConsole = new CustomConsole();
+    private final String storeName;
+    private final NotificationIndexes indexes;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile CompletableFuture<Void> ready = new CompletableFuture<>();
+    private boolean rebuildScheduled;
+
+    public NotificationIndexManager(String storeName, NotificationDateParser dateParser) {
+        this.storeName = storeName;
+        this.indexes = new NotificationIndexes(dateParser);
+    }
+
+    /**
+     * @return The listener to register on the store's update path
+     */
+    public NotificationStoreListener listener() {
+        return indexes;
+    }
+
+    public synchronized void onStopped() {
+        ready = new CompletableFuture<>();
+        rebuildScheduled = false;
+    }
+
+    /**
+     * Schedules the rebuild once per run; the store is scanned on the rebuild thread.
+     */
+    public synchronized void onRunning(Supplier<ReadOnlyKeyValueStore<String, NotificationDetailsStoreType>> store) {
+        if (!rebuildScheduled) {
+            rebuildScheduled = true;
+            CompletableFuture<Void> rebuilt = ready;
+            rebuildExecutor.execute(() -> rebuild(store, rebuilt));
+        }
+    }
+
+    /**
+     * @return true once the indexes have been rebuilt for the current run
+     */
+    public boolean isReady() {
+        CompletableFuture<Void> rebuilt = ready;
+        return rebuilt.isDone() && !rebuilt.isCompletedExceptionally();
+    }
+
+    /**
+     * @return The indexes, once rebuilt for the current run
+     * @throws InvalidStateStoreException if they are not rebuilt within the timeout
+     */
+    public NotificationIndexes await(long timeoutMs) {
+        try {
+            ready.get(timeoutMs, TimeUnit.MILLISECONDS);
+            return indexes;
+        } catch (TimeoutException e) {
+            throw new InvalidStateStoreException(
+                    String.format("Secondary indexes of %s not ready within %d ms", storeName, timeoutMs));
+        } catch (ExecutionException e) {
+            throw new InvalidStateStoreException(String.format("Secondary indexes of %s failed to build", storeName), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InvalidStateStoreException(String.format("Interrupted waiting for indexes of %s", storeName), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * Keys the listener changes while the scan runs keep the listener's entry.
+     */
+    private void rebuild(Supplier<ReadOnlyKeyValueStore<String, NotificationDetailsStoreType>> store,
+                         CompletableFuture<Void> rebuilt) {
+        indexes.beginRebuild();
+        try {
+            long count = 0;
+            try (KeyValueIterator<String, NotificationDetailsStoreType> iterator = store.get().all()) {
+                while (iterator.hasNext()) {
+                    KeyValue<String, NotificationDetailsStoreType> entry = iterator.next();
+                    indexes.addScanned(entry.key, entry.value);
+                    count++;
+                }
+            }
+            customConsole.info("Rebuilt secondary indexes of {} from {} records", storeName, count);
+            rebuilt.complete(null);
+        } catch (Exception e) {
+            customConsole.error(String.format("Error rebuilding secondary indexes of %s", storeName), e);
+            rebuilt.completeExceptionally(e);
+        } finally {
+            indexes.endRebuild();
+        }
+    }
+}
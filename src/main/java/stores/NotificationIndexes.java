@@ -0,0 +1,130 @@
+package stores;
+
+import types.NotificationDetailsStoreType;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary indexes of the notification store, kept in sync by the store's
+ * update path: tariff heading (CTH), serial under a notification (NOTN + SLNO),
+ * country (CNTRY) and the parsed dates with their effective-date index.
+ * Held on heap and rebuilt from a scan on every start; off unless
+ * notification.store.indexes.enabled is set.
+ */
+public class NotificationIndexes implements NotificationStoreListener {
+    private static final char COMPOSITE_SEPARATOR = '\u0000';
+
+    private final NotificationSecondaryIndex byCth =
+            new NotificationSecondaryIndex("CTH", NotificationDetailsStoreType::CTH);
+    private final NotificationSecondaryIndex byNotnSlno =
+            new NotificationSecondaryIndex("NOTN_SLNO", record -> notnSlno(record.NOTN(), record.SLNO()));
+    private final NotificationSecondaryIndex byCntry =
+            new NotificationSecondaryIndex("CNTRY", NotificationDetailsStoreType::CNTRY);
+    private final List<NotificationSecondaryIndex> all = List.of(byCth, byNotnSlno, byCntry);
+    private final NotificationDateIndex dates;
+    private volatile ConcurrentHashMap<String, Boolean> rebuildTouched;
+
+    public NotificationIndexes(NotificationDateParser dateParser) {
+        this.dates = new NotificationDateIndex(dateParser);
+    }
+
+    @Override
+    public void onUpdate(String key, NotificationDetailsStoreType oldValue, NotificationDetailsStoreType newValue, long timestamp) {
+        ConcurrentHashMap<String, Boolean> touched = rebuildTouched;
+        if (touched == null) {
+            apply(key, newValue);
+            return;
+        }
+        touched.compute(key, (k, seen) -> {
+            apply(key, newValue);
+            return Boolean.TRUE;
+        });
+    }
+
+    @Override
+    public boolean requiresValues() {
+        return true;
+    }
+
+    /**
+     * The indexes remember what they indexed per key, so the store can skip
+     * reading the previous value before each write.
+     */
+    @Override
+    public boolean requiresPreviousValue() {
+        return false;
+    }
+
+    /**
+     * Clears the indexes ahead of a full scan. Until {@link #endRebuild()},
+     * keys written through the update path are remembered so that
+     * {@link #addScanned} does not overwrite them with the older scanned value
+     * or bring back a deleted key. Clearing comes first: an update racing the
+     * clear may be wiped, but it is not marked touched, so the scan re-adds it.
+     */
+    public void beginRebuild() {
+        clear();
+        rebuildTouched = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Indexes a record read by the rebuild scan, unless the update path has
+     * changed the key since the rebuild began.
+     */
+    public void addScanned(String key, NotificationDetailsStoreType value) {
+        ConcurrentHashMap<String, Boolean> touched = rebuildTouched;
+        if (touched == null) {
+            apply(key, value);
+            return;
+        }
+        // computing on the key serializes with onUpdate for the same key
+        touched.compute(key, (k, seen) -> {
+            if (seen == null) {
+                apply(key, value);
+            }
+            return seen;
+        });
+    }
+
+    public void endRebuild() {
+        rebuildTouched = null;
+    }
+
+    public void clear() {
+        for (NotificationSecondaryIndex index : all) {
+            index.clear();
+        }
+        dates.clear();
+    }
+
+    private void apply(String key, NotificationDetailsStoreType newValue) {
+        for (NotificationSecondaryIndex index : all) {
+            index.update(key, newValue);
+        }
+        dates.update(key, newValue);
+    }
+
+    public NotificationSecondaryIndex byCth() {
+        return byCth;
+    }
+
+    public NotificationSecondaryIndex byNotnSlno() {
+        return byNotnSlno;
+    }
+
+    public NotificationSecondaryIndex byCntry() {
+        return byCntry;
+    }
+
+    public NotificationDateIndex dates() {
+        return dates;
+    }
+
+    public static String notnSlno(String notn, String slno) {
+        if (notn == null || slno == null) {
+            return null;
+        }
+        return notn + COMPOSITE_SEPARATOR + slno;
+    }
+}
@@ -0,0 +1,35 @@
+package stores;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import types.NotificationDetailsStoreType;
+import utils.JSONHandler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads raw notification JSON straight from the record bytes through
+ * {@link JSONHandler#read}, which uses the shared reader and records parse
+ * metrics, without decoding to an intermediate String.
+ * Malformed input raises {@link SerializationException}.
+ */
+public class NotificationJsonDeserializer implements Deserializer<NotificationDetailsStoreType> {
+    private final JSONHandler jsonHandler;
+
+    public NotificationJsonDeserializer(JSONHandler jsonHandler) {
+        this.jsonHandler = jsonHandler;
+    }
+
+    @Override
+    public NotificationDetailsStoreType deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return jsonHandler.read(ByteBuffer.wrap(data), NotificationDetailsStoreType.class);
+        } catch (IOException e) {
+            throw new SerializationException(String.format("Malformed notification on %s", topic), e);
+        }
+    }
+}
@@ -1,66 +1,771 @@
 package stores;
 
+import types.NotificationDates;
 import types.NotificationDetailsStoreType;
+import types.NotificationFieldDictionary;
+import types.NotificationPage;
 import utils.CustomConsole;
 import utils.JSONHandler;
 import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyQueryMetadata;
+import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.kstream.Branched;
 import org.apache.kafka.streams.kstream.Consumed;
 import org.apache.kafka.streams.kstream.KStream;
 import org.apache.kafka.streams.kstream.Materialized;
 import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.query.QueryResult;
+import org.apache.kafka.streams.query.StateQueryRequest;
+import org.apache.kafka.streams.query.StateQueryResult;
+import org.apache.kafka.streams.query.VersionedKeyQuery;
+import org.apache.kafka.streams.state.KeyValueBytesStoreSupplier;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
 import org.apache.kafka.streams.state.QueryableStoreTypes;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.apache.kafka.streams.state.StoreBuilder;
 import org.apache.kafka.streams.state.Stores;
+import org.apache.kafka.streams.state.VersionedRecord;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.config.StreamsBuilderFactoryBean;
-import org.springframework.kafka.support.serializer.JsonSerde;
 import org.springframework.stereotype.Component;
 
-import java.util.Objects;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Set;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.concurrent.atomic.AtomicReference;
 @Component
-@RequiredArgsConstructor
 public class NotificationMasterStore {
     public static final String NOTIFICATION_MASTER_TOPIC = "NOTIFICATION_MASTER_TOPIC";
     public static final String NOTIFICATION_MASTER_INTERNAL = "NOTIFICATION_MASTER_INTERNAL";
-    public final String STORE = "NOTIFICATION_MASTER_STORE";
+    public static final String NOTIFICATION_MASTER_STORE = "NOTIFICATION_MASTER_STORE";
+    public final String STORE = NOTIFICATION_MASTER_STORE;
+    public static final String NOTIFICATION_MASTER_HISTORY = "NOTIFICATION_MASTER_HISTORY";
+    private static final long STORE_RETRY_INTERVAL_MS = 100;
     private final CustomConsole customConsole = new CustomConsole();
     private final StreamsBuilderFactoryBean streamsBuilderFactoryBean;
     private final JSONHandler jsonHandler;
+    private final MeterRegistry meterRegistry;
+    private final AtomicReference<ReadOnlyKeyValueStore<String, NotificationDetailsStoreType>> storeHandle = new AtomicReference<>();
+    private final Object storeMonitor = new Object();
+    private final List<NotificationStoreListener> storeListeners = new CopyOnWriteArrayList<>();
+    private NotificationIndexManager indexManager;
+    private NotificationRecordCache recordCache;
+    private final NotificationRestoreTracker restoreTracker = new NotificationRestoreTracker(STORE);
+    private final ScheduledExecutorService maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-store-maintenance");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private NotificationPrewarmer prewarmer;
+    private Timer cacheHitTimer;
+    private Timer cacheMissTimer;
+    private Timer storeReadTimer;
+
+    @Value("${notification.store.await-timeout-ms:5000}")
+    private long storeAwaitTimeoutMs;
+
+    @Value("${notification.store.topology:INTERNAL_TOPIC}")
+    private NotificationTopologyMode topologyMode;
+
+    @Value("${notification.store.backend:ROCKSDB}")
+    private NotificationStoreBackend storeBackend;
+
+    @Value("${notification.store.off-heap.slab-bytes:67108864}")
+    private int offHeapSlabBytes;
+
+    @Value("${notification.store.value-format:JSON}")
+    private NotificationValueFormat storeValueFormat;
+
+    @Value("${notification.internal-topic.value-format:JSON}")
+    private NotificationValueFormat internalTopicValueFormat;
+
+    @Value("${notification.store.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${notification.store.cache.max-weight-bytes:67108864}")
+    private long cacheMaxWeightBytes;
+
+    @Value("${notification.store.cache.compact:false}")
+    private boolean cacheCompact;
+
+    @Value("${notification.store.cache.dictionary-max-entries:4096}")
+    private int cacheDictionaryMaxEntries;
+
+    @Value("${notification.store.scan.page-size:500}")
+    private int defaultPageSize;
+
+    @Value("${notification.store.indexes.enabled:false}")
+    private boolean indexesEnabled;
+
+    @Value("${notification.store.history.enabled:false}")
+    private boolean historyEnabled;
+
+    @Value("${notification.store.history.retention-ms:2592000000}")
+    private long historyRetentionMs;
+
+    @Value("${notification.store.date-formats:yyyy-MM-dd,dd-MM-yyyy,dd/MM/yyyy,dd-MMM-yyyy,yyyy-MM-dd'T'HH:mm:ss}")
+    private String[] dateFormats;
+
+    @Value("${notification.store.bulk-load.snapshot:}")
+    private String bulkLoadSnapshot;
+
+    @Value("${notification.store.bulk-load.format:JSON_LINES}")
+    private NotificationSnapshotFormat bulkLoadFormat;
+
+    @Value("${notification.store.bulk-load.workers:4}")
+    private int bulkLoadWorkers;
+
+    @Value("${notification.store.bulk-load.chunk-bytes:67108864}")
+    private long bulkLoadChunkBytes;
+
+    @Value("${notification.store.prewarm.enabled:false}")
+    private boolean prewarmEnabled;
+
+    @Value("${notification.store.prewarm.hot-keys-file:notification-hot-keys.txt}")
+    private String prewarmHotKeysFile;
+
+    @Value("${notification.store.prewarm.top-n:10000}")
+    private int prewarmTopN;
+
+    @Value("${notification.store.prewarm.persist-interval-ms:300000}")
+    private long prewarmPersistIntervalMs;
+
+    @Value("${notification.parse-errors.mode:FAIL}")
+    private NotificationParseErrorMode parseErrorMode;
+
+    @Value("${notification.parse-errors.dead-letter-topic:NOTIFICATION_MASTER_DLQ}")
+    private String deadLetterTopic;
+
+    /**
+     * Records metrics in a private SimpleMeterRegistry when the application has no MeterRegistry.
+     */
+    @Autowired
+    public NotificationMasterStore(StreamsBuilderFactoryBean streamsBuilderFactoryBean, JSONHandler jsonHandler,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        this(streamsBuilderFactoryBean, jsonHandler, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    public NotificationMasterStore(StreamsBuilderFactoryBean streamsBuilderFactoryBean, JSONHandler jsonHandler,
+                                   MeterRegistry meterRegistry) {
+        this.streamsBuilderFactoryBean = streamsBuilderFactoryBean;
+        this.jsonHandler = jsonHandler;
+        this.meterRegistry = meterRegistry;
+    }
 
     @PostConstruct
     public void init() {
+        if (topologyMode == NotificationTopologyMode.INTERNAL_TOPIC
+                && internalTopicValueFormat == NotificationValueFormat.BINARY
+                && storeValueFormat == NotificationValueFormat.JSON) {
+            throw new IllegalStateException(String.format(
+                    "%s cannot restore a JSON store from a BINARY internal topic; use a BINARY store or a JSON topic", STORE));
+        }
+        registerMetrics();
         try {
-            KStream<String, String> Notification_Stream = streamsBuilderFactoryBean.getObject().stream(NOTIFICATION_MASTER_TOPIC, Consumed.with(Serdes.String(), Serdes.String()));
-            Notification_Stream.mapValues(value -> jsonHandler.parse(value, NotificationDetailsStoreType.class))
-                    .to(NOTIFICATION_MASTER_INTERNAL,
-                            Produced.with(Serdes.String(), new JsonSerde<>(NotificationDetailsStoreType.class))
-                    );
-            streamsBuilderFactoryBean.getObject().globalTable(
-                    NOTIFICATION_MASTER_INTERNAL,
-                    Consumed.with(Serdes.String(), new JsonSerde<>(NotificationDetailsStoreType.class)),
-                    Materialized.<String, NotificationDetailsStoreType>as(Stores.persistentKeyValueStore(STORE))
-                            .withKeySerde(Serdes.String())
-                            .withValueSerde(new JsonSerde<>(NotificationDetailsStoreType.class))
-            );
+            if (cacheEnabled) {
+                recordCache = new NotificationRecordCache(cacheMaxWeightBytes,
+                        cacheCompact ? new NotificationFieldDictionary(cacheDictionaryMaxEntries) : null);
+                recordCache.bindTo(meterRegistry, STORE);
+                storeListeners.add((key, oldValue, newValue, timestamp) -> recordCache.invalidate(key));
+            }
+            if (indexesEnabled) {
+                indexManager = new NotificationIndexManager(STORE, new NotificationDateParser(dateFormats));
+                storeListeners.add(indexManager.listener());
+            }
+            if (historyEnabled && topologyMode == NotificationTopologyMode.DIRECT) {
+                customConsole.warn("Ignoring history of {}: the DIRECT topology has no stream to version", STORE);
+                historyEnabled = false;
+            }
+            if (prewarmEnabled && recordCache != null) {
+                prewarmer = new NotificationPrewarmer(STORE, recordCache, new NotificationHotKeyLog(Paths.get(prewarmHotKeysFile)),
+                        prewarmTopN, prewarmPersistIntervalMs, maintenanceExecutor);
+            } else if (prewarmEnabled) {
+                customConsole.warn("Ignoring pre-warm of {}: the record cache is disabled", STORE);
+            }
+            streamsBuilderFactoryBean.setStateListener(this::onStateChange);
+            streamsBuilderFactoryBean.setStateRestoreListener(restoreTracker);
+            if (!bulkLoadSnapshot.isBlank()) {
+                bulkLoad();
+            }
+            if (topologyMode == NotificationTopologyMode.DIRECT) {
+                buildDirectTopology();
+            } else {
+                buildInternalTopicTopology();
+            }
         } catch (Exception e) {
             customConsole.error(String.format("Error establishing %s", STORE), e);
         }
     }
 
 
+    /**
+     * Kafka Streams' own metrics are bound by Spring Boot's KafkaStreamsMicrometerListener.
+     */
+    private void registerMetrics() {
+        cacheHitTimer = getDataTimer("cache-hit");
+        cacheMissTimer = getDataTimer("cache-miss");
+        storeReadTimer = getDataTimer("store");
+        Gauge.builder("notification.store.records", this, NotificationMasterStore::approximateRecordCount)
+                .description("Approximate number of records in " + STORE)
+                .register(meterRegistry);
+        if (storeBackend == NotificationStoreBackend.ROCKSDB) {
+            Gauge.builder("notification.rocksdb.block.cache.usage", NotificationRocksDBConfigSetter::sharedCacheUsage)
+                    .description("Bytes held in the shared RocksDB block cache")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("notification.rocksdb.block.cache.pinned.usage", NotificationRocksDBConfigSetter::sharedCachePinnedUsage)
+                    .description("Bytes pinned in the shared RocksDB block cache")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    private Timer getDataTimer(String path) {
+        return Timer.builder("notification.store.get")
+                .description("Latency of " + STORE + " lookups by key")
+                .tag("path", path)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads only the cached handle so scrapes never wait for the store.
+     */
+    private double approximateRecordCount() {
+        ReadOnlyKeyValueStore<String, NotificationDetailsStoreType> store = storeHandle.get();
+        if (store == null) {
+            return Double.NaN;
+        }
+        try {
+            return store.approximateNumEntries();
+        } catch (InvalidStateStoreException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Record caching is off so the store listeners see every write as it lands.
+     */
+    private void buildInternalTopicTopology() throws Exception {
+        NotificationParseMetrics parseMetrics = new NotificationParseMetrics(meterRegistry, NotificationTopologyMode.INTERNAL_TOPIC.name());
+        KStream<String, byte[]> Notification_Stream = streamsBuilderFactoryBean.getObject().stream(NOTIFICATION_MASTER_TOPIC, Consumed.with(Serdes.String(), Serdes.ByteArray()));
+        Notification_Stream.processValues(() -> new NotificationParseProcessor(new NotificationJsonDeserializer(jsonHandler), parseErrorMode, parseMetrics))
+                .split()
+                .branch((key, result) -> result.isFailed(), Branched.withConsumer(failed -> failed
+                        .peek((key, result) -> parseMetrics.deadLettered())
+                        .mapValues(NotificationParseResult::raw)
+                        .to(deadLetterTopic, Produced.with(Serdes.String(), Serdes.ByteArray()))))
+                .defaultBranch(Branched.withConsumer(parsed -> {
+                    KStream<String, NotificationDetailsStoreType> values = parsed.mapValues(NotificationParseResult::value);
+                    values.to(NOTIFICATION_MASTER_INTERNAL, Produced.with(Serdes.String(), internalTopicValueFormat.serde(jsonHandler.getObjectMapper())));
+                    if (historyEnabled) {
+                        values.toTable(Materialized.<String, NotificationDetailsStoreType>as(
+                                        Stores.persistentVersionedKeyValueStore(NOTIFICATION_MASTER_HISTORY, Duration.ofMillis(historyRetentionMs)))
+                                .withKeySerde(Serdes.String())
+                                .withValueSerde(storeValueFormat.serde(jsonHandler.getObjectMapper())));
+                    }
+                }));
+        streamsBuilderFactoryBean.getObject().globalTable(
+                NOTIFICATION_MASTER_INTERNAL,
+                Consumed.with(Serdes.String(), internalTopicValueFormat.serde(jsonHandler.getObjectMapper())),
+                Materialized.<String, NotificationDetailsStoreType>as(storeSupplier(true))
+                        .withKeySerde(Serdes.String())
+                        .withValueSerde(storeValueFormat.serde(jsonHandler.getObjectMapper()))
+                        .withCachingDisabled()
+        );
+    }
+
+    /**
+     * Loads the global store straight from the raw topic, skipping the internal topic.
+     */
+    private void buildDirectTopology() throws Exception {
+        NotificationParseMetrics parseMetrics = new NotificationParseMetrics(meterRegistry, NotificationTopologyMode.DIRECT.name());
+        if (parseErrorMode == NotificationParseErrorMode.DEAD_LETTER) {
+            customConsole.warn("{} cannot dead-letter in DIRECT topology; malformed notifications are counted and skipped", STORE);
+        }
+        StoreBuilder<KeyValueStore<String, NotificationDetailsStoreType>> storeBuilder = Stores.keyValueStoreBuilder(
+                        storeSupplier(false),
+                        Serdes.String(),
+                        storeValueFormat.serde(jsonHandler.getObjectMapper()))
+                .withLoggingDisabled();
+        streamsBuilderFactoryBean.getObject().addGlobalStore(
+                storeBuilder,
+                NOTIFICATION_MASTER_TOPIC,
+                Consumed.with(Serdes.String(), Serdes.ByteArray()),
+                () -> new NotificationGlobalStoreProcessor(STORE, new NotificationJsonDeserializer(jsonHandler), parseErrorMode, parseMetrics)
+        );
+    }
+
+    /**
+     * On failure the store is left absent and restored from the topic as usual.
+     */
+    private void bulkLoad() {
+        if (storeBackend != NotificationStoreBackend.ROCKSDB) {
+            customConsole.warn("Ignoring bulk load of {}: only the ROCKSDB backend keeps its files across restarts", STORE);
+            return;
+        }
+        try {
+            StreamsConfig streamsConfig = new StreamsConfig(streamsBuilderFactoryBean.getStreamsConfiguration());
+            File globalStateDir = Paths.get(
+                    streamsConfig.getString(StreamsConfig.STATE_DIR_CONFIG),
+                    streamsConfig.getString(StreamsConfig.APPLICATION_ID_CONFIG),
+                    "global").toFile();
+            String sourceTopic = topologyMode == NotificationTopologyMode.DIRECT
+                    ? NOTIFICATION_MASTER_TOPIC
+                    : NOTIFICATION_MASTER_INTERNAL;
+            new NotificationBulkLoader(jsonHandler, storeValueFormat.serde(jsonHandler.getObjectMapper()).serializer(), bulkLoadWorkers, bulkLoadChunkBytes)
+                    .load(new File(bulkLoadSnapshot), bulkLoadFormat, globalStateDir, STORE, sourceTopic);
+        } catch (Exception e) {
+            customConsole.error(String.format("Error bulk loading %s from %s; restoring from the topic", STORE, bulkLoadSnapshot), e);
+        }
+    }
+
+    private KeyValueBytesStoreSupplier storeSupplier(boolean timestampedBuilder) {
+        return new ObservedKeyValueBytesStoreSupplier(
+                storeBackend.supplier(STORE, offHeapSlabBytes),
+                storeListeners,
+                storeValueFormat.serde(jsonHandler.getObjectMapper()).deserializer(),
+                timestampedBuilder);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (indexManager != null) {
+            indexManager.close();
+        }
+        // lets a hot key save queued by the shutdown state change finish
+        maintenanceExecutor.shutdown();
+        try {
+            if (!maintenanceExecutor.awaitTermination(storeAwaitTimeoutMs, TimeUnit.MILLISECONDS)) {
+                maintenanceExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            maintenanceExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Global store handles stay valid across rebalances, so the handle is only
+     * dropped when the instance stops running or rebalancing. Indexes and the
+     * cache pre-warm start once the instance first reaches RUNNING.
+     */
+    private void onStateChange(KafkaStreams.State newState, KafkaStreams.State oldState) {
+        synchronized (storeMonitor) {
+            if (!newState.isRunningOrRebalancing()) {
+                storeHandle.set(null);
+                if (prewarmer != null) {
+                    prewarmer.onStopped();
+                }
+                if (recordCache != null) {
+                    recordCache.invalidateAll();
+                }
+                if (indexManager != null) {
+                    indexManager.onStopped();
+                }
+            }
+            if (newState == KafkaStreams.State.RUNNING) {
+                if (indexManager != null) {
+                    indexManager.onRunning(this::getStore);
+                }
+                if (prewarmer != null) {
+                    prewarmer.onRunning(this::getData);
+                }
+            }
+            storeMonitor.notifyAll();
+        }
+        customConsole.debug("{} state change {} -> {}", STORE, oldState, newState);
+    }
+
+    /**
+     * @return true once the store is restored, indexed and warmed
+     */
+    public boolean isReady() {
+        KafkaStreams kafkaStreams = streamsBuilderFactoryBean.getKafkaStreams();
+        return kafkaStreams != null
+                && kafkaStreams.state() == KafkaStreams.State.RUNNING
+                && !restoreTracker.isRestoring()
+                && (indexManager == null || indexManager.isReady())
+                && isWarmedUp();
+    }
+
+    /**
+     * @return true once the secondary indexes have been rebuilt for the current run
+     */
+    public boolean isIndexesReady() {
+        return indexManager != null && indexManager.isReady();
+    }
+
+    /**
+     * @return The streams instance state, or null before it is created
+     */
+    public KafkaStreams.State getStreamsState() {
+        KafkaStreams kafkaStreams = streamsBuilderFactoryBean.getKafkaStreams();
+        return kafkaStreams != null ? kafkaStreams.state() : null;
+    }
+
+    public NotificationRestoreTracker getRestoreTracker() {
+        return restoreTracker;
+    }
+
+    public boolean isWarmedUp() {
+        return prewarmer == null || prewarmer.isWarmedUp();
+    }
+
     private ReadOnlyKeyValueStore<String, NotificationDetailsStoreType> getStore() {
-        return Objects.requireNonNull(streamsBuilderFactoryBean.getKafkaStreams())
-                .store(StoreQueryParameters.fromNameAndType(
-                        STORE,
-                        QueryableStoreTypes.keyValueStore()
-                ));
+        ReadOnlyKeyValueStore<String, NotificationDetailsStoreType> store = storeHandle.get();
+        return store != null ? store : awaitStore();
+    }
 
+    /**
+     * Only takes the handle once the store is fully restored.
+     */
+    private ReadOnlyKeyValueStore<String, NotificationDetailsStoreType> awaitStore() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(storeAwaitTimeoutMs);
+        synchronized (storeMonitor) {
+            InvalidStateStoreException lastError = null;
+            while (true) {
+                ReadOnlyKeyValueStore<String, NotificationDetailsStoreType> store = storeHandle.get();
+                if (store != null) {
+                    return store;
+                }
+                KafkaStreams kafkaStreams = streamsBuilderFactoryBean.getKafkaStreams();
+                if (kafkaStreams != null && kafkaStreams.state() == KafkaStreams.State.RUNNING
+                        && !restoreTracker.isRestoring()) {
+                    try {
+                        store = kafkaStreams.store(StoreQueryParameters.fromNameAndType(
+                                STORE,
+                                QueryableStoreTypes.keyValueStore()
+                        ));
+                        storeHandle.set(store);
+                        return store;
+                    } catch (InvalidStateStoreException e) {
+                        lastError = e;
+                    }
+                }
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    throw lastError != null ? lastError : new InvalidStateStoreException(
+                            String.format("%s not available within %d ms", STORE, storeAwaitTimeoutMs));
+                }
+                try {
+                    storeMonitor.wait(Math.min(remainingMs, STORE_RETRY_INTERVAL_MS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InvalidStateStoreException(String.format("Interrupted waiting for %s", STORE), e);
+                }
+            }
+        }
     }
 
     public NotificationDetailsStoreType getData(String key) {
+        long started = System.nanoTime();
         ReadOnlyKeyValueStore<String, NotificationDetailsStoreType> store = getStore();
-        return store.get(key);
+        if (recordCache == null) {
+            NotificationDetailsStoreType value = store.get(key);
+            storeReadTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return value;
+        }
+        NotificationDetailsStoreType value = recordCache.getIfPresent(key);
+        if (value != null) {
+            cacheHitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return value;
+        }
+        value = recordCache.load(key, store::get);
+        cacheMissTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return value;
+    }
+
+    /**
+     * Reads the versioned history store, which is partitioned: only the
+     * instance hosting the key's partition can answer.
+     * @param asOfTimestamp Record timestamp, in epoch millis, to read the key as of
+     * @return The record in force at the timestamp, or null if it did not exist
+     * or is older than the history retention
+     * @throws InvalidStateStoreException if the key's partition is not queryable on this instance
+     */
+    public NotificationDetailsStoreType getData(String key, long asOfTimestamp) {
+        if (!historyEnabled) {
+            throw new IllegalStateException(String.format("History of %s is disabled", STORE));
+        }
+        KafkaStreams kafkaStreams = streamsBuilderFactoryBean.getKafkaStreams();
+        if (kafkaStreams == null) {
+            throw new InvalidStateStoreException(String.format("%s is not started", NOTIFICATION_MASTER_HISTORY));
+        }
+        KeyQueryMetadata metadata = kafkaStreams.queryMetadataForKey(NOTIFICATION_MASTER_HISTORY, key, Serdes.String().serializer());
+        if (metadata == null || KeyQueryMetadata.NOT_AVAILABLE.equals(metadata)) {
+            throw new InvalidStateStoreException(String.format("%s has no metadata for key %s", NOTIFICATION_MASTER_HISTORY, key));
+        }
+        VersionedKeyQuery<String, NotificationDetailsStoreType> query =
+                VersionedKeyQuery.<String, NotificationDetailsStoreType>withKey(key).asOf(Instant.ofEpochMilli(asOfTimestamp));
+        StateQueryResult<VersionedRecord<NotificationDetailsStoreType>> result = kafkaStreams.query(
+                StateQueryRequest.inStore(NOTIFICATION_MASTER_HISTORY)
+                        .withQuery(query)
+                        .withPartitions(Set.of(metadata.partition())));
+        QueryResult<VersionedRecord<NotificationDetailsStoreType>> partitionResult =
+                result.getPartitionResults().get(metadata.partition());
+        if (partitionResult == null || partitionResult.isFailure()) {
+            throw new InvalidStateStoreException(String.format("%s cannot answer key %s here; its active host is %s%s",
+                    NOTIFICATION_MASTER_HISTORY, key, metadata.activeHost(),
+                    partitionResult != null ? ": " + partitionResult.getFailureMessage() : ""));
+        }
+        VersionedRecord<NotificationDetailsStoreType> record = partitionResult.getResult();
+        return record != null ? record.value() : null;
+    }
+
+    /**
+     * @return The read-through record cache, or null when it is disabled
+     */
+    public NotificationRecordCache getRecordCache() {
+        return recordCache;
+    }
+
+    /**
+     * Visits the keys in ascending order, so consecutive RocksDB reads hit neighbouring blocks.
+     * @param keys The notification keys to look up, duplicates and nulls are ignored
+     * @return Found records keyed by notification key, in key order; missing keys are absent
+     */
+    public Map<String, NotificationDetailsStoreType> getAll(Collection<String> keys) {
+        Map<String, NotificationDetailsStoreType> result = new LinkedHashMap<>();
+        if (keys == null || keys.isEmpty()) {
+            return result;
+        }
+        TreeSet<String> orderedKeys = new TreeSet<>();
+        for (String key : keys) {
+            if (key != null) {
+                orderedKeys.add(key);
+            }
+        }
+        ReadOnlyKeyValueStore<String, NotificationDetailsStoreType> store = getStore();
+        for (String key : orderedKeys) {
+            NotificationDetailsStoreType value = recordCache != null ? recordCache.get(key, store::get) : store.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    public Map<String, NotificationDetailsStoreType> getDataBatch(Collection<String> keys) {
+        return getAll(keys);
+    }
+
+    /**
+     * Close the stream if it may be abandoned before it is exhausted.
+     * @param from The first key, or null to start at the beginning
+     * @param to The last key, or null to run to the end
+     * @return A lazily consumed stream of records
+     */
+    public Stream<NotificationDetailsStoreType> range(String from, String to) {
+        return stream(getStore().range(from, to));
+    }
+
+    /**
+     * @param prefix The key prefix
+     * @return A lazily consumed stream of records
+     */
+    public Stream<NotificationDetailsStoreType> prefixScan(String prefix) {
+        return stream(getStore().prefixScan(prefix, Serdes.String().serializer()));
+    }
+
+    /**
+     * @param pageSize Records per page, or 0 for the configured default
+     * @param resumeToken The token of the previous page, or null for the first page
+     */
+    public NotificationPage rangePage(String from, String to, int pageSize, String resumeToken) {
+        String lastKey = decodeResumeToken(resumeToken);
+        String start = lastKey != null ? lastKey : from;
+        try (KeyValueIterator<String, NotificationDetailsStoreType> iterator = getStore().range(start, to)) {
+            return readPage(iterator, null, lastKey, pageSize);
+        }
+    }
+
+    /**
+     * @param pageSize Records per page, or 0 for the configured default
+     * @param resumeToken The token of the previous page, or null for the first page
+     */
+    public NotificationPage prefixScanPage(String prefix, int pageSize, String resumeToken) {
+        String lastKey = decodeResumeToken(resumeToken);
+        try (KeyValueIterator<String, NotificationDetailsStoreType> iterator = lastKey != null
+                ? getStore().range(lastKey, null)
+                : getStore().prefixScan(prefix, Serdes.String().serializer())) {
+            return readPage(iterator, prefix, lastKey, pageSize);
+        }
+    }
+
+    private NotificationPage readPage(KeyValueIterator<String, NotificationDetailsStoreType> iterator,
+                                      String prefix, String lastKey, int pageSize) {
+        int limit = pageSize > 0 ? pageSize : defaultPageSize;
+        List<NotificationDetailsStoreType> items = new ArrayList<>(Math.min(limit, 1024));
+        String pageLastKey = null;
+        while (iterator.hasNext()) {
+            KeyValue<String, NotificationDetailsStoreType> entry = iterator.next();
+            if (lastKey != null && entry.key.equals(lastKey)) {
+                continue;
+            }
+            if (prefix != null && !entry.key.startsWith(prefix)) {
+                break;
+            }
+            if (items.size() == limit) {
+                return new NotificationPage(items, encodeResumeToken(pageLastKey));
+            }
+            items.add(entry.value);
+            pageLastKey = entry.key;
+        }
+        return new NotificationPage(items, null);
+    }
+
+    private static String encodeResumeToken(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeResumeToken(String resumeToken) {
+        if (resumeToken == null || resumeToken.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(resumeToken), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid resume token", e);
+        }
+    }
+
+    private static Stream<NotificationDetailsStoreType> stream(KeyValueIterator<String, NotificationDetailsStoreType> iterator) {
+        ClosingValueIterator values = new ClosingValueIterator(iterator);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(values, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .onClose(values::close);
+    }
+
+    /**
+     * Value view over a store iterator that closes the iterator as soon as it
+     * runs out.
+     */
+    private static final class ClosingValueIterator implements Iterator<NotificationDetailsStoreType> {
+        private final KeyValueIterator<String, NotificationDetailsStoreType> iterator;
+        private boolean closed;
+
+        private ClosingValueIterator(KeyValueIterator<String, NotificationDetailsStoreType> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+            if (iterator.hasNext()) {
+                return true;
+            }
+            close();
+            return false;
+        }
+
+        private void close() {
+            if (!closed) {
+                closed = true;
+                iterator.close();
+            }
+        }
+
+        @Override
+        public NotificationDetailsStoreType next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return iterator.next().value;
+        }
+    }
+
+    /**
+     * @param cth The tariff heading
+     * @return All records under the tariff heading, keyed by notification key
+     */
+    public Map<String, NotificationDetailsStoreType> getByCth(String cth) {
+        return queryIndex(requireIndexes().byCth(), cth);
+    }
+
+    /**
+     * @param notn The notification number
+     * @param slno The serial number under the notification
+     * @return All records for the serial, keyed by notification key
+     */
+    public Map<String, NotificationDetailsStoreType> getByNotnAndSlno(String notn, String slno) {
+        return queryIndex(requireIndexes().byNotnSlno(), NotificationIndexes.notnSlno(notn, slno));
+    }
+
+    /**
+     * @param cntry The country code
+     * @return All country-specific records for the country, keyed by notification key
+     */
+    public Map<String, NotificationDetailsStoreType> getByCountry(String cntry) {
+        return queryIndex(requireIndexes().byCntry(), cntry);
+    }
+
+    /**
+     * @param date The day the notifications must be in force on
+     * @return Records in force on the day, keyed by notification key
+     */
+    public Map<String, NotificationDetailsStoreType> getEffectiveOn(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        NotificationDateIndex dateIndex = requireIndexes().dates();
+        Map<String, NotificationDetailsStoreType> result = getAll(dateIndex.effectiveOn(epochDay));
+        result.keySet().removeIf(key -> !dateIndex.matches(key, epochDay));
+        return result;
+    }
+
+    /**
+     * @param key The notification key
+     * @return The dates of the record parsed at ingest, or null if the key is unknown
+     */
+    public NotificationDates getDates(String key) {
+        return requireIndexes().dates().get(key);
+    }
+
+    private NotificationIndexes requireIndexes() {
+        if (indexManager == null) {
+            throw new IllegalStateException(String.format("Secondary indexes of %s are disabled", STORE));
+        }
+        return indexManager.await(storeAwaitTimeoutMs);
+    }
+
+    private Map<String, NotificationDetailsStoreType> queryIndex(NotificationSecondaryIndex index, String value) {
+        Map<String, NotificationDetailsStoreType> result = getAll(index.keys(value));
+        result.values().removeIf(record -> !index.matches(record, value));
+        return result;
     }
 }
@@ -0,0 +1,23 @@
+package stores;
+
+/**
+ * What {@link NotificationMasterStore} does with NOTIFICATION_MASTER_TOPIC
+ * records that fail to parse.
+ */
+public enum NotificationParseErrorMode {
+    /**
+     * Rethrow, which stops the stream thread until the record is dealt with.
+     */
+    FAIL,
+    /**
+     * Count, log and drop the record.
+     */
+    SKIP,
+    /**
+     * Count and send the original bytes to the dead-letter topic with the
+     * error and source coordinates as headers. The topic is declared by
+     * {@link NotificationDeadLetterTopicConfiguration}. The DIRECT topology has
+     * no sink and skips instead.
+     */
+    DEAD_LETTER
+}
@@ -0,0 +1,43 @@
+package stores;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counters for parsing NOTIFICATION_MASTER_TOPIC records. Registries derive
+ * rates from them, so alerting can use either.
+ */
+public class NotificationParseMetrics {
+    private final Counter parsed;
+    private final Counter failed;
+    private final Counter deadLettered;
+
+    public NotificationParseMetrics(MeterRegistry meterRegistry, String topology) {
+        this.parsed = Counter.builder("notification.parse.records")
+                .description("Notification records parsed")
+                .tag("result", "parsed")
+                .tag("topology", topology)
+                .register(meterRegistry);
+        this.failed = Counter.builder("notification.parse.records")
+                .description("Notification records that failed to parse")
+                .tag("result", "failed")
+                .tag("topology", topology)
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("notification.parse.dead.lettered")
+                .description("Notification records sent to the dead-letter topic")
+                .tag("topology", topology)
+                .register(meterRegistry);
+    }
+
+    public void parsed() {
+        parsed.increment();
+    }
+
+    public void failed() {
+        failed.increment();
+    }
+
+    public void deadLettered() {
+        deadLettered.increment();
+    }
+}
@@ -0,0 +1,78 @@
+package stores;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.streams.processor.api.FixedKeyProcessor;
+import org.apache.kafka.streams.processor.api.FixedKeyProcessorContext;
+import org.apache.kafka.streams.processor.api.FixedKeyRecord;
+import org.apache.kafka.streams.processor.api.RecordMetadata;
+import types.NotificationDetailsStoreType;
+import utils.CustomConsole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Parses raw notification bytes without letting a malformed record stop the
+ * stream thread. Failures are handled per {@link NotificationParseErrorMode};
+ * for DEAD_LETTER they are forwarded with the error and source coordinates in
+ * the record headers, ready to be written to the dead-letter topic.
+ */
+public class NotificationParseProcessor implements FixedKeyProcessor<String, byte[], NotificationParseResult> {
+    public static final String ERROR_HEADER = "notification.dlq.error";
+    public static final String TOPIC_HEADER = "notification.dlq.topic";
+    public static final String PARTITION_HEADER = "notification.dlq.partition";
+    public static final String OFFSET_HEADER = "notification.dlq.offset";
+
+    private final CustomConsole customConsole = new CustomConsole();
+    private final Deserializer<NotificationDetailsStoreType> deserializer;
+    private final NotificationParseErrorMode errorMode;
+    private final NotificationParseMetrics metrics;
+    private FixedKeyProcessorContext<String, NotificationParseResult> context;
+
+    public NotificationParseProcessor(Deserializer<NotificationDetailsStoreType> deserializer,
+                                      NotificationParseErrorMode errorMode, NotificationParseMetrics metrics) {
+        this.deserializer = deserializer;
+        this.errorMode = errorMode;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void init(FixedKeyProcessorContext<String, NotificationParseResult> context) {
+        this.context = context;
+    }
+
+    @Override
+    public void process(FixedKeyRecord<String, byte[]> record) {
+        Optional<RecordMetadata> metadata = context.recordMetadata();
+        String topic = metadata.map(RecordMetadata::topic).orElse(null);
+        NotificationDetailsStoreType value;
+        try {
+            value = deserializer.deserialize(topic, record.value());
+        } catch (SerializationException e) {
+            metrics.failed();
+            if (errorMode == NotificationParseErrorMode.FAIL) {
+                throw e;
+            }
+            String error = e.getCause() != null ? e.getCause().toString() : e.toString();
+            if (errorMode == NotificationParseErrorMode.SKIP) {
+                customConsole.warnRateLimited("Skipping malformed notification {} at {}-{}@{}: {}", record.key(), topic,
+                        metadata.map(RecordMetadata::partition).orElse(-1),
+                        metadata.map(RecordMetadata::offset).orElse(-1L), error);
+                return;
+            }
+            Headers headers = record.headers();
+            headers.add(ERROR_HEADER, error.getBytes(StandardCharsets.UTF_8));
+            metadata.ifPresent(m -> {
+                headers.add(TOPIC_HEADER, m.topic().getBytes(StandardCharsets.UTF_8));
+                headers.add(PARTITION_HEADER, Integer.toString(m.partition()).getBytes(StandardCharsets.UTF_8));
+                headers.add(OFFSET_HEADER, Long.toString(m.offset()).getBytes(StandardCharsets.UTF_8));
+            });
+            context.forward(record.withValue(NotificationParseResult.failed(record.value(), error)));
+            return;
+        }
+        metrics.parsed();
+        context.forward(record.withValue(NotificationParseResult.parsed(value)));
+    }
+}
@@ -0,0 +1,21 @@
+package stores;
+
+import types.NotificationDetailsStoreType;
+
+/**
+ * Outcome of parsing one raw notification: the record, or the original bytes
+ * with the error when parsing failed.
+ */
+public record NotificationParseResult(NotificationDetailsStoreType value, byte[] raw, String error) {
+    public static NotificationParseResult parsed(NotificationDetailsStoreType value) {
+        return new NotificationParseResult(value, null, null);
+    }
+
+    public static NotificationParseResult failed(byte[] raw, String error) {
+        return new NotificationParseResult(null, raw, error);
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+}
@@ -0,0 +1,109 @@
+package stores;
+
+import utils.CustomConsole;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Warms the record cache with the keys that were hottest in the previous run.
+ * The hot keys are saved periodically and whenever the store stops.
+ */
+public class NotificationPrewarmer {
+    private final CustomConsole customConsole = new CustomConsole();
+    private final String storeName;
+    private final NotificationRecordCache recordCache;
+    private final NotificationHotKeyLog hotKeyLog;
+    private final int topN;
+    private final ScheduledExecutorService executor;
+    private volatile boolean warmedUp;
+    private boolean warmUpScheduled;
+    private long runGeneration;
+
+    /**
+     * @param executor Runs the warm-up and the saves, so neither blocks a state change
+     */
+    public NotificationPrewarmer(String storeName, NotificationRecordCache recordCache, NotificationHotKeyLog hotKeyLog,
+                                 int topN, long persistIntervalMs, ScheduledExecutorService executor) {
+        this.storeName = storeName;
+        this.recordCache = recordCache;
+        this.hotKeyLog = hotKeyLog;
+        this.topN = topN;
+        this.executor = executor;
+        executor.scheduleWithFixedDelay(this::saveHotKeys, persistIntervalMs, persistIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Snapshots the hot keys; call before the cache is cleared.
+     */
+    public synchronized void onStopped() {
+        warmedUp = false;
+        warmUpScheduled = false;
+        runGeneration++;
+        List<String> hotKeys = recordCache.hottestKeys(topN);
+        try {
+            executor.execute(() -> saveHotKeys(hotKeys));
+        } catch (RejectedExecutionException e) {
+            customConsole.warn("Dropped the hot keys of {}: the store is shutting down", storeName);
+        }
+    }
+
+    /**
+     * Schedules the warm-up once per run.
+     * @param loader Reads a key through the cache
+     */
+    public synchronized void onRunning(Consumer<String> loader) {
+        if (!warmUpScheduled) {
+            warmUpScheduled = true;
+            long generation = runGeneration;
+            executor.execute(() -> warmUp(generation, loader));
+        }
+    }
+
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    /**
+     * Readiness is released even if warming fails, since the cache only affects latency.
+     */
+    private void warmUp(long generation, Consumer<String> loader) {
+        long started = System.nanoTime();
+        int warmed = 0;
+        try {
+            for (String key : hotKeyLog.load(topN)) {
+                loader.accept(key);
+                warmed++;
+            }
+            customConsole.info("Pre-warmed {} keys of {} in {} ms", warmed, storeName,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (Exception e) {
+            customConsole.warn(String.format("Error pre-warming %s after %d keys", storeName, warmed), e);
+        } finally {
+            synchronized (this) {
+                if (generation == runGeneration) {
+                    warmedUp = true;
+                }
+            }
+        }
+    }
+
+    private void saveHotKeys() {
+        saveHotKeys(recordCache.hottestKeys(topN));
+    }
+
+    private void saveHotKeys(List<String> hotKeys) {
+        // an empty cache right after startup must not wipe the previous run's keys
+        if (hotKeys.isEmpty()) {
+            return;
+        }
+        try {
+            hotKeyLog.save(hotKeys);
+        } catch (Exception e) {
+            customConsole.warn(String.format("Error saving hot keys of %s", storeName), e);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package stores;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import types.CompactNotificationRecord;
+import types.NotificationDetailsStoreType;
+import types.NotificationFieldDictionary;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bounded on-heap cache of deserialized notification records.
+ * Caffeine's W-TinyLFU policy keeps the hot notifications resident while the
+ * weigher bounds the cache by approximate retained bytes instead of entry count.
+ * In compact mode entries are held as {@link CompactNotificationRecord}s over a
+ * shared dictionary and turned back into records on each hit.
+ */
+public class NotificationRecordCache {
+    private static final int OBJECT_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int STRING_OVERHEAD_BYTES = 40;
+    private static final int RECORD_FIELD_COUNT = 45;
+
+    private final Cache<String, Object> cache;
+    private final NotificationFieldDictionary dictionary;
+
+    public NotificationRecordCache(long maxWeightBytes) {
+        this(maxWeightBytes, null);
+    }
+
+    /**
+     * @param dictionary Dictionary for compact entries, or null to cache plain records
+     */
+    public NotificationRecordCache(long maxWeightBytes, NotificationFieldDictionary dictionary) {
+        this.dictionary = dictionary;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((String key, Object value) -> weigh(key, value))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached record or loads it. Absent records are not cached.
+     * @param key The notification key
+     * @param loader Reads the record from the underlying store
+     * @return The record, or null if the loader found nothing
+     */
+    public NotificationDetailsStoreType get(String key, Function<String, NotificationDetailsStoreType> loader) {
+        NotificationDetailsStoreType record = getIfPresent(key);
+        return record != null ? record : load(key, loader);
+    }
+
+    /**
+     * @return The cached record, or null on a miss; counts as a hit or miss
+     */
+    public NotificationDetailsStoreType getIfPresent(String key) {
+        return decode(cache.getIfPresent(key));
+    }
+
+    /**
+     * Miss path after {@link #getIfPresent}. Goes through compute rather than
+     * get so the miss is not counted twice; an invalidation of the key waits
+     * for the load, so a stale read is never cached over a newer write.
+     * @return The record, or null if the loader found nothing
+     */
+    public NotificationDetailsStoreType load(String key, Function<String, NotificationDetailsStoreType> loader) {
+        return decode(cache.asMap().compute(key, (k, cached) -> {
+            if (cached != null) {
+                return cached;
+            }
+            NotificationDetailsStoreType record = loader.apply(k);
+            return record != null && dictionary != null ? CompactNotificationRecord.of(record, dictionary) : record;
+        }));
+    }
+
+    private static NotificationDetailsStoreType decode(Object value) {
+        return value instanceof CompactNotificationRecord compact ? compact.toRecord() : (NotificationDetailsStoreType) value;
+    }
+
+    public void invalidate(String key) {
+        cache.invalidate(key);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    public long evictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * @return Approximate heap retained by the cached entries, excluding the shared dictionary
+     */
+    public long weightedSizeBytes() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    /**
+     * Exports hit/miss/eviction statistics and the weighted size under the cache name.
+     */
+    public void bindTo(MeterRegistry meterRegistry, String cacheName) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, cacheName);
+        Gauge.builder("cache.weighted.size", this, NotificationRecordCache::weightedSizeBytes)
+                .description("Approximate heap retained by the cached entries")
+                .baseUnit("bytes")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return Up to limit cached keys, most frequently used first, by the eviction policy's own frequency estimate
+     */
+    public List<String> hottestKeys(int limit) {
+        return cache.policy().eviction()
+                .map(eviction -> List.copyOf(eviction.hottest(limit).keySet()))
+                .orElse(List.of());
+    }
+
+    private static int weigh(String key, Object value) {
+        if (value instanceof CompactNotificationRecord compact) {
+            return (int) Math.min(Integer.MAX_VALUE, stringBytes(key) + compact.estimatedHeapBytes());
+        }
+        return weighRecord(key, (NotificationDetailsStoreType) value);
+    }
+
+    private static int weighRecord(String key, NotificationDetailsStoreType value) {
+        long bytes = OBJECT_HEADER_BYTES + (long) RECORD_FIELD_COUNT * REFERENCE_BYTES + stringBytes(key);
+        bytes += stringBytes(value.NOTN()) + stringBytes(value.NOTN_TYPE()) + stringBytes(value.NOTN_DT())
+                + stringBytes(value.NOTN_CAT()) + stringBytes(value.PORT()) + stringBytes(value.QUOTA_REQ())
+                + stringBytes(value.CNTRY()) + stringBytes(value.SLNO()) + stringBytes(value.SUB_SLNO())
+                + stringBytes(value.LIST_ITEM()) + stringBytes(value.CTH()) + stringBytes(value.ITEM_DESC())
+                + stringBytes(value.RTA()) + stringBytes(value.UQC()) + stringBytes(value.FLG())
+                + stringBytes(value.COND()) + stringBytes(value.CVD_RTA()) + stringBytes(value.CVD_AMTS())
+                + stringBytes(value.CVD_UQC()) + stringBytes(value.CVD_FLG()) + stringBytes(value.AMND_REF())
+                + stringBytes(value.MEMORAND()) + stringBytes(value.CONDIT()) + stringBytes(value.NOTN_ENDT())
+                + stringBytes(value.A_NOTN()) + stringBytes(value.A_NOTN_DT()) + stringBytes(value.A_SLNO())
+                + stringBytes(value.STATUS()) + stringBytes(value.AD_FLG()) + stringBytes(value.AMEND_BY())
+                + stringBytes(value.AMEND_DT()) + stringBytes(value.ENTRY_BY()) + stringBytes(value.ENTRY_DT())
+                + stringBytes(value.PFLG()) + stringBytes(value.BCD_AMTS3()) + stringBytes(value.BCD_UQC3())
+                + stringBytes(value.BOND_CD()) + stringBytes(value.SCH_CD()) + stringBytes(value.DBK_TYPE())
+                + stringBytes(value.SBMT_BY()) + stringBytes(value.SBMT_DT()) + stringBytes(value.NOTN_IDT())
+                + stringBytes(value.ANTI_DUMP()) + stringBytes(value.CVD_9());
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + value.length();
+    }
+}
@@ -0,0 +1,119 @@
+package stores;
+
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.streams.processor.StateRestoreListener;
+import utils.CustomConsole;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks restoration of one store from its changelog or source topic:
+ * records restored, restore rate and the remaining lag per partition.
+ * Restoration of other stores is ignored.
+ */
+public class NotificationRestoreTracker implements StateRestoreListener {
+    private static final long PROGRESS_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final CustomConsole customConsole = new CustomConsole();
+    private final String storeName;
+    private final Map<TopicPartition, PartitionProgress> partitions = new ConcurrentHashMap<>();
+    private volatile long lastProgressLog;
+
+    public NotificationRestoreTracker(String storeName) {
+        this.storeName = storeName;
+    }
+
+    @Override
+    public void onRestoreStart(TopicPartition topicPartition, String storeName, long startingOffset, long endingOffset) {
+        if (!this.storeName.equals(storeName)) {
+            return;
+        }
+        partitions.put(topicPartition, new PartitionProgress(startingOffset, endingOffset, System.nanoTime()));
+        customConsole.info("Restoring {} from {} offsets {} to {}", storeName, topicPartition, startingOffset, endingOffset);
+    }
+
+    @Override
+    public void onBatchRestored(TopicPartition topicPartition, String storeName, long batchEndOffset, long numRestored) {
+        PartitionProgress progress = this.storeName.equals(storeName) ? partitions.get(topicPartition) : null;
+        if (progress == null) {
+            return;
+        }
+        progress.currentOffset = batchEndOffset;
+        progress.restored += numRestored;
+        long now = System.nanoTime();
+        if (now - lastProgressLog >= PROGRESS_LOG_INTERVAL_NANOS) {
+            lastProgressLog = now;
+            customConsole.info("Restoring {}: {} records restored, {} remaining, {} records/sec",
+                    storeName, restoredRecords(), remainingLag(), Math.round(recordsPerSecond()));
+        }
+    }
+
+    @Override
+    public void onRestoreEnd(TopicPartition topicPartition, String storeName, long totalRestored) {
+        PartitionProgress progress = this.storeName.equals(storeName) ? partitions.get(topicPartition) : null;
+        if (progress == null) {
+            return;
+        }
+        progress.restored = totalRestored;
+        progress.currentOffset = progress.endOffset;
+        progress.endNanos = System.nanoTime();
+        customConsole.info("Restored {} records of {} from {} in {} ms", totalRestored, storeName, topicPartition,
+                TimeUnit.NANOSECONDS.toMillis(progress.endNanos - progress.startNanos));
+    }
+
+    /**
+     * @return true while any partition of the store is still being restored
+     */
+    public boolean isRestoring() {
+        return partitions.values().stream().anyMatch(progress -> progress.endNanos == 0);
+    }
+
+    public long restoredRecords() {
+        return partitions.values().stream().mapToLong(progress -> progress.restored).sum();
+    }
+
+    /**
+     * @return Offsets left to restore across the partitions still restoring
+     */
+    public long remainingLag() {
+        return partitions.values().stream()
+                .filter(progress -> progress.endNanos == 0)
+                .mapToLong(progress -> Math.max(0, progress.endOffset - progress.currentOffset))
+                .sum();
+    }
+
+    /**
+     * @return Records restored per second since restoration started, over all partitions
+     */
+    public double recordsPerSecond() {
+        long earliestStart = Long.MAX_VALUE;
+        long latestEnd = 0;
+        boolean restoring = false;
+        for (PartitionProgress progress : partitions.values()) {
+            earliestStart = Math.min(earliestStart, progress.startNanos);
+            latestEnd = Math.max(latestEnd, progress.endNanos);
+            restoring |= progress.endNanos == 0;
+        }
+        if (earliestStart == Long.MAX_VALUE) {
+            return 0;
+        }
+        long elapsedNanos = (restoring ? System.nanoTime() : latestEnd) - earliestStart;
+        return elapsedNanos > 0 ? restoredRecords() * 1e9 / elapsedNanos : 0;
+    }
+
+    private static final class PartitionProgress {
+        private final long endOffset;
+        private final long startNanos;
+        private volatile long currentOffset;
+        private volatile long restored;
+        private volatile long endNanos;
+
+        private PartitionProgress(long startOffset, long endOffset, long startNanos) {
+            this.currentOffset = startOffset;
+            this.endOffset = endOffset;
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package stores;
+
+import org.apache.kafka.streams.state.RocksDBConfigSetter;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.CompressionType;
+import org.rocksdb.LRUCache;
+import org.rocksdb.Options;
+import org.rocksdb.WriteBufferManager;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RocksDB tuning for the notification store, registered by
+ * {@link NotificationRocksDBConfiguration}. Settings are read from the streams
+ * configuration, so they bind from application.properties as
+ * {@code spring.kafka.streams.properties.notification.rocksdb.*}.
+ * Other stores of the application keep Kafka Streams' defaults.
+ * <p>
+ * The notification store's block cache and memtables share one
+ * {@link WriteBufferManager}, so its off-heap memory stays bounded by
+ * {@link #BLOCK_CACHE_BYTES_CONFIG}.
+ */
+public class NotificationRocksDBConfigSetter implements RocksDBConfigSetter {
+    public static final String PRESET_CONFIG = "notification.rocksdb.preset";
+    public static final String BLOCK_CACHE_BYTES_CONFIG = "notification.rocksdb.block-cache-bytes";
+    public static final String WRITE_BUFFER_BYTES_CONFIG = "notification.rocksdb.write-buffer-bytes";
+    public static final String HIGH_PRIORITY_POOL_RATIO_CONFIG = "notification.rocksdb.high-priority-pool-ratio";
+    public static final String BLOCK_SIZE_CONFIG = "notification.rocksdb.block-size";
+    public static final String BLOOM_BITS_PER_KEY_CONFIG = "notification.rocksdb.bloom-bits-per-key";
+    public static final String COMPRESSION_CONFIG = "notification.rocksdb.compression";
+    public static final String BOTTOMMOST_COMPRESSION_CONFIG = "notification.rocksdb.bottommost-compression";
+
+    private static final long DEFAULT_BLOCK_CACHE_BYTES = 256L * 1024 * 1024;
+    private static final long DEFAULT_WRITE_BUFFER_BYTES = 32L * 1024 * 1024;
+    private static final double DEFAULT_HIGH_PRIORITY_POOL_RATIO = 0.1;
+    private static final long DEFAULT_BLOCK_SIZE = 16L * 1024;
+    private static final double DEFAULT_BLOOM_BITS_PER_KEY = 10;
+
+    private static Cache sharedCache;
+    private static WriteBufferManager sharedWriteBufferManager;
+
+    private BloomFilter filter;
+
+    public enum Preset {
+        /**
+         * Leave Kafka Streams' RocksDB defaults untouched.
+         */
+        DEFAULT,
+        /**
+         * Bloom filters, shared block cache with pinned L0 index/filter blocks and
+         * LZ4 with ZSTD at the bottommost level.
+         */
+        READ_OPTIMIZED
+    }
+
+    @Override
+    public void setConfig(String storeName, Options options, Map<String, Object> configs) {
+        if (!NotificationMasterStore.NOTIFICATION_MASTER_STORE.equals(storeName)) {
+            return;
+        }
+        Preset preset = Preset.valueOf(getString(configs, PRESET_CONFIG, Preset.READ_OPTIMIZED.name()).toUpperCase(Locale.ROOT));
+        if (preset == Preset.DEFAULT) {
+            return;
+        }
+        initSharedMemory(configs);
+
+        BlockBasedTableConfig tableConfig = (BlockBasedTableConfig) options.tableFormatConfig();
+        tableConfig.setBlockCache(sharedCache);
+        tableConfig.setBlockSize(getLong(configs, BLOCK_SIZE_CONFIG, DEFAULT_BLOCK_SIZE));
+        tableConfig.setCacheIndexAndFilterBlocks(true);
+        tableConfig.setCacheIndexAndFilterBlocksWithHighPriority(true);
+        tableConfig.setPinL0FilterAndIndexBlocksInCache(true);
+        filter = new BloomFilter(getDouble(configs, BLOOM_BITS_PER_KEY_CONFIG, DEFAULT_BLOOM_BITS_PER_KEY), false);
+        tableConfig.setFilterPolicy(filter);
+        options.setTableFormatConfig(tableConfig);
+
+        options.setWriteBufferManager(sharedWriteBufferManager);
+        options.setCompressionType(compression(configs, COMPRESSION_CONFIG, CompressionType.LZ4_COMPRESSION));
+        options.setBottommostCompressionType(compression(configs, BOTTOMMOST_COMPRESSION_CONFIG, CompressionType.ZSTD_COMPRESSION));
+    }
+
+    @Override
+    public void close(String storeName, Options options) {
+        if (filter != null) {
+            filter.close();
+        }
+    }
+
+    /**
+     * @return Bytes currently held in the shared block cache, or 0 before any store is configured
+     */
+    public static synchronized long sharedCacheUsage() {
+        return sharedCache != null ? sharedCache.getUsage() : 0;
+    }
+
+    /**
+     * @return Bytes of the shared block cache pinned by open iterators and table readers
+     */
+    public static synchronized long sharedCachePinnedUsage() {
+        return sharedCache != null ? sharedCache.getPinnedUsage() : 0;
+    }
+
+    private static synchronized void initSharedMemory(Map<String, Object> configs) {
+        if (sharedCache != null) {
+            return;
+        }
+        sharedCache = new LRUCache(
+                getLong(configs, BLOCK_CACHE_BYTES_CONFIG, DEFAULT_BLOCK_CACHE_BYTES),
+                -1,
+                false,
+                getDouble(configs, HIGH_PRIORITY_POOL_RATIO_CONFIG, DEFAULT_HIGH_PRIORITY_POOL_RATIO));
+        sharedWriteBufferManager = new WriteBufferManager(
+                getLong(configs, WRITE_BUFFER_BYTES_CONFIG, DEFAULT_WRITE_BUFFER_BYTES),
+                sharedCache);
+    }
+
+    private static CompressionType compression(Map<String, Object> configs, String key, CompressionType defaultValue) {
+        String value = getString(configs, key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        return switch (value.toUpperCase(Locale.ROOT)) {
+            case "NONE" -> CompressionType.NO_COMPRESSION;
+            case "SNAPPY" -> CompressionType.SNAPPY_COMPRESSION;
+            case "LZ4" -> CompressionType.LZ4_COMPRESSION;
+            case "LZ4HC" -> CompressionType.LZ4HC_COMPRESSION;
+            case "ZSTD" -> CompressionType.ZSTD_COMPRESSION;
+            default -> throw new IllegalArgumentException(String.format("Unsupported %s: %s", key, value));
+        };
+    }
+
+    private static String getString(Map<String, Object> configs, String key, String defaultValue) {
+        Object value = configs.get(key);
+        return value != null ? value.toString().trim() : defaultValue;
+    }
+
+    private static long getLong(Map<String, Object> configs, String key, long defaultValue) {
+        String value = getString(configs, key, null);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+
+    private static double getDouble(Map<String, Object> configs, String key, double defaultValue) {
+        String value = getString(configs, key, null);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+}
@@ -0,0 +1,26 @@
+package stores;
+
+import org.apache.kafka.streams.StreamsConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.StreamsBuilderFactoryBeanConfigurer;
+
+import java.util.Properties;
+
+/**
+ * Registers {@link NotificationRocksDBConfigSetter} with the streams
+ * configuration, unless the application configured a setter of its own.
+ */
+@Configuration
+public class NotificationRocksDBConfiguration {
+
+    @Bean
+    public StreamsBuilderFactoryBeanConfigurer notificationRocksDBConfigSetterConfigurer() {
+        return factoryBean -> {
+            Properties properties = new Properties();
+            properties.putAll(factoryBean.getStreamsConfiguration());
+            properties.putIfAbsent(StreamsConfig.ROCKSDB_CONFIG_SETTER_CLASS_CONFIG, NotificationRocksDBConfigSetter.class);
+            factoryBean.setStreamsConfiguration(properties);
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package stores;
+
+import types.NotificationDetailsStoreType;
+
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * In-memory secondary index from an attribute of the record to the set of
+ * notification keys carrying it. Entries may briefly lag the store, so callers
+ * re-check the attribute on the records they read back.
+ */
+public class NotificationSecondaryIndex {
+    private final String name;
+    private final Function<NotificationDetailsStoreType, String> attribute;
+    private final ConcurrentHashMap<String, NavigableSet<String>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> attributeByKey = new ConcurrentHashMap<>();
+
+    public NotificationSecondaryIndex(String name, Function<NotificationDetailsStoreType, String> attribute) {
+        this.name = name;
+        this.attribute = attribute;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String attributeOf(NotificationDetailsStoreType record) {
+        return record != null ? attribute.apply(record) : null;
+    }
+
+    public boolean matches(NotificationDetailsStoreType record, String value) {
+        return record != null && Objects.equals(attribute.apply(record), value);
+    }
+
+    /**
+     * Moves the key to the attribute of its new record. The previously
+     * indexed attribute is looked up by key, so a removal never depends on
+     * the caller knowing the old record.
+     * @param newValue The new record, or null for a delete
+     */
+    public void update(String key, NotificationDetailsStoreType newValue) {
+        String newAttribute = attributeOf(newValue);
+        String oldAttribute = newAttribute != null ? attributeByKey.put(key, newAttribute) : attributeByKey.remove(key);
+        if (oldAttribute != null && !oldAttribute.equals(newAttribute)) {
+            remove(oldAttribute, key);
+        }
+        if (newAttribute != null) {
+            add(newAttribute, key);
+        }
+    }
+
+    public Set<String> keys(String value) {
+        NavigableSet<String> keys = value != null ? entries.get(value) : null;
+        return keys != null ? Collections.unmodifiableSet(keys) : Collections.emptySet();
+    }
+
+    public void clear() {
+        entries.clear();
+        attributeByKey.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void add(String value, String key) {
+        // adding inside compute keeps a concurrent remove from dropping the set the key goes into
+        entries.compute(value, (v, keys) -> {
+            if (keys == null) {
+                keys = new ConcurrentSkipListSet<>();
+            }
+            keys.add(key);
+            return keys;
+        });
+    }
+
+    private void remove(String value, String key) {
+        entries.computeIfPresent(value, (v, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+}
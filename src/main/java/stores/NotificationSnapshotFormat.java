@@ -0,0 +1,17 @@
+package stores;
+
+/**
+ * File formats {@link NotificationBulkLoader} reads snapshots in.
+ */
+public enum NotificationSnapshotFormat {
+    /**
+     * One {@code {"key": ..., "value": {...}}} object per line; a null value is a tombstone.
+     */
+    JSON_LINES,
+    /**
+     * Length-prefixed records: big-endian int key length, UTF-8 key, big-endian
+     * int value length (-1 for a tombstone), value in the
+     * {@link NotificationBinarySerde} encoding.
+     */
+    BINARY
+}
@@ -0,0 +1,30 @@
+package stores;
+
+import org.apache.kafka.streams.state.KeyValueBytesStoreSupplier;
+import org.apache.kafka.streams.state.Stores;
+
+/**
+ * Storage engines available for the notification store.
+ */
+public enum NotificationStoreBackend {
+    /**
+     * Persistent RocksDB store, restored incrementally from its checkpoint.
+     */
+    ROCKSDB,
+    /**
+     * Kafka's on-heap in-memory store, fully restored from the topic on startup.
+     */
+    IN_MEMORY,
+    /**
+     * {@link OffHeapKeyValueStore}, fully restored from the topic on startup.
+     */
+    OFF_HEAP;
+
+    public KeyValueBytesStoreSupplier supplier(String storeName, int offHeapSlabBytes) {
+        return switch (this) {
+            case ROCKSDB -> Stores.persistentKeyValueStore(storeName);
+            case IN_MEMORY -> Stores.inMemoryKeyValueStore(storeName);
+            case OFF_HEAP -> new OffHeapKeyValueBytesStoreSupplier(storeName, offHeapSlabBytes);
+        };
+    }
+}
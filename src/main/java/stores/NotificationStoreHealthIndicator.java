@@ -0,0 +1,35 @@
+package stores;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports NOTIFICATION_MASTER_STORE as out of service until it is restored,
+ * caught up, indexed and warmed. Included in the readiness group, so traffic is only
+ * routed to the instance once lookups are served from a complete store.
+ * Only registered when the application has Spring Boot Actuator.
+ */
+@Component
+@ConditionalOnClass(name = "org.springframework.boot.actuate.health.HealthIndicator")
+@RequiredArgsConstructor
+public class NotificationStoreHealthIndicator implements HealthIndicator {
+    private final NotificationMasterStore notificationMasterStore;
+
+    @Override
+    public Health health() {
+        NotificationRestoreTracker restoreTracker = notificationMasterStore.getRestoreTracker();
+        Health.Builder builder = notificationMasterStore.isReady() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("streamsState", String.valueOf(notificationMasterStore.getStreamsState()))
+                .withDetail("restoring", restoreTracker.isRestoring())
+                .withDetail("restoredRecords", restoreTracker.restoredRecords())
+                .withDetail("remainingLag", restoreTracker.remainingLag())
+                .withDetail("restoreRecordsPerSecond", Math.round(restoreTracker.recordsPerSecond()))
+                .withDetail("indexesReady", notificationMasterStore.isIndexesReady())
+                .withDetail("warmedUp", notificationMasterStore.isWarmedUp())
+                .build();
+    }
+}
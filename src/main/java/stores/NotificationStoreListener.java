@@ -0,0 +1,34 @@
+package stores;
+
+import types.NotificationDetailsStoreType;
+
+/**
+ * Callback fired by {@link ObservedKeyValueStore} after a key of the
+ * notification store has been written or deleted by the update path.
+ */
+@FunctionalInterface
+public interface NotificationStoreListener {
+    /**
+     * @param key The notification key that changed
+     * @param oldValue The previous record, only supplied when {@link #requiresPreviousValue()} is true
+     * @param newValue The new record or null for a delete, only supplied when {@link #requiresValues()} is true
+     * @param timestamp The timestamp of the record that caused the change
+     */
+    void onUpdate(String key, NotificationDetailsStoreType oldValue, NotificationDetailsStoreType newValue, long timestamp);
+
+    /**
+     * Listeners that need the records make the store read the previous value
+     * before each write and decode both values.
+     */
+    default boolean requiresValues() {
+        return false;
+    }
+
+    /**
+     * Listeners that need the new record but not the previous one spare the
+     * store the read before each write.
+     */
+    default boolean requiresPreviousValue() {
+        return requiresValues();
+    }
+}
@@ -0,0 +1,17 @@
+package stores;
+
+/**
+ * How {@link NotificationMasterStore} feeds its global store.
+ */
+public enum NotificationTopologyMode {
+    /**
+     * Parse NOTIFICATION_MASTER_TOPIC into NOTIFICATION_MASTER_INTERNAL and build
+     * the global table from the internal topic.
+     */
+    INTERNAL_TOPIC,
+    /**
+     * Parse NOTIFICATION_MASTER_TOPIC once inside a global store processor; the
+     * internal topic is not produced.
+     */
+    DIRECT
+}
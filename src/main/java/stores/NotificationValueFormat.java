@@ -0,0 +1,26 @@
+package stores;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.serialization.Serde;
+import org.springframework.kafka.support.serializer.JsonSerde;
+import types.NotificationDetailsStoreType;
+
+/**
+ * Value encodings available for the notification store and its internal topic.
+ * The global table restores raw topic bytes into the store, so a BINARY store may
+ * sit on a JSON topic (its deserializer reads both), but not the other way round.
+ */
+public enum NotificationValueFormat {
+    JSON,
+    BINARY;
+
+    /**
+     * @param objectMapper Shared mapper, so modules registered with Spring apply to the store and topic
+     */
+    public Serde<NotificationDetailsStoreType> serde(ObjectMapper objectMapper) {
+        return switch (this) {
+            case JSON -> new JsonSerde<>(NotificationDetailsStoreType.class, objectMapper);
+            case BINARY -> new NotificationBinarySerde(objectMapper);
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package stores;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.state.KeyValueBytesStoreSupplier;
+import org.apache.kafka.streams.state.KeyValueStore;
+import types.NotificationDetailsStoreType;
+
+import java.util.List;
+
+/**
+ * Wraps another supplier so that the stores it builds report writes to the
+ * given listeners.
+ */
+public class ObservedKeyValueBytesStoreSupplier implements KeyValueBytesStoreSupplier {
+    private final KeyValueBytesStoreSupplier delegate;
+    private final List<NotificationStoreListener> listeners;
+    private final Deserializer<NotificationDetailsStoreType> valueDeserializer;
+    private final boolean timestampedBuilder;
+
+    public ObservedKeyValueBytesStoreSupplier(KeyValueBytesStoreSupplier delegate,
+                                              List<NotificationStoreListener> listeners,
+                                              Deserializer<NotificationDetailsStoreType> valueDeserializer,
+                                              boolean timestampedBuilder) {
+        this.delegate = delegate;
+        this.listeners = listeners;
+        this.valueDeserializer = valueDeserializer;
+        this.timestampedBuilder = timestampedBuilder;
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    @Override
+    public KeyValueStore<Bytes, byte[]> get() {
+        return new ObservedKeyValueStore(delegate.get(), listeners, valueDeserializer, timestampedBuilder);
+    }
+
+    @Override
+    public String metricsScope() {
+        return delegate.metricsScope();
+    }
+}
@@ -0,0 +1,236 @@
+package stores;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.processor.StateStore;
+import org.apache.kafka.streams.processor.StateStoreContext;
+import org.apache.kafka.streams.query.Position;
+import org.apache.kafka.streams.query.PositionBound;
+import org.apache.kafka.streams.query.Query;
+import org.apache.kafka.streams.query.QueryConfig;
+import org.apache.kafka.streams.query.QueryResult;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+import types.NotificationDetailsStoreType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Byte store that delegates to the real store and tells the registered
+ * listeners about every key written through it.
+ * Restoration writes straight into the inner store and is not observed.
+ */
+public class ObservedKeyValueStore implements KeyValueStore<Bytes, byte[]> {
+    private static final int TIMESTAMP_BYTES = Long.BYTES;
+
+    private final KeyValueStore<Bytes, byte[]> delegate;
+    private final List<NotificationStoreListener> listeners;
+    private final Deserializer<NotificationDetailsStoreType> valueDeserializer;
+    private final boolean timestampedBuilder;
+    private org.apache.kafka.streams.processor.ProcessorContext processorContext;
+
+    /**
+     * @param timestampedBuilder Whether the store sits under a timestamped store builder, in which
+     *                           case non-persistent stores receive values prefixed with the record timestamp
+     */
+    public ObservedKeyValueStore(KeyValueStore<Bytes, byte[]> delegate,
+                                 List<NotificationStoreListener> listeners,
+                                 Deserializer<NotificationDetailsStoreType> valueDeserializer,
+                                 boolean timestampedBuilder) {
+        this.delegate = delegate;
+        this.listeners = listeners;
+        this.valueDeserializer = valueDeserializer;
+        this.timestampedBuilder = timestampedBuilder;
+    }
+
+    @Override
+    public void put(Bytes key, byte[] value) {
+        byte[] previous = requiresPreviousValue() ? delegate.get(key) : null;
+        delegate.put(key, value);
+        notifyListeners(key, previous, value);
+    }
+
+    @Override
+    public byte[] putIfAbsent(Bytes key, byte[] value) {
+        byte[] previous = delegate.putIfAbsent(key, value);
+        if (previous == null) {
+            notifyListeners(key, null, value);
+        }
+        return previous;
+    }
+
+    @Override
+    public void putAll(List<KeyValue<Bytes, byte[]>> entries) {
+        if (!requiresPreviousValue()) {
+            delegate.putAll(entries);
+            for (KeyValue<Bytes, byte[]> entry : entries) {
+                notifyListeners(entry.key, null, entry.value);
+            }
+            return;
+        }
+        for (KeyValue<Bytes, byte[]> entry : entries) {
+            put(entry.key, entry.value);
+        }
+    }
+
+    @Override
+    public byte[] delete(Bytes key) {
+        byte[] previous = delegate.delete(key);
+        notifyListeners(key, previous, null);
+        return previous;
+    }
+
+    @Override
+    public byte[] get(Bytes key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public KeyValueIterator<Bytes, byte[]> range(Bytes from, Bytes to) {
+        return delegate.range(from, to);
+    }
+
+    @Override
+    public KeyValueIterator<Bytes, byte[]> reverseRange(Bytes from, Bytes to) {
+        return delegate.reverseRange(from, to);
+    }
+
+    @Override
+    public KeyValueIterator<Bytes, byte[]> all() {
+        return delegate.all();
+    }
+
+    @Override
+    public KeyValueIterator<Bytes, byte[]> reverseAll() {
+        return delegate.reverseAll();
+    }
+
+    @Override
+    public <PS extends Serializer<P>, P> KeyValueIterator<Bytes, byte[]> prefixScan(P prefix, PS prefixKeySerializer) {
+        return delegate.prefixScan(prefix, prefixKeySerializer);
+    }
+
+    @Override
+    public long approximateNumEntries() {
+        return delegate.approximateNumEntries();
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    @Deprecated
+    @Override
+    public void init(org.apache.kafka.streams.processor.ProcessorContext context, StateStore root) {
+        processorContext = context;
+        delegate.init(context, root);
+    }
+
+    @Override
+    public void init(StateStoreContext context, StateStore root) {
+        if (context instanceof org.apache.kafka.streams.processor.ProcessorContext legacyContext) {
+            processorContext = legacyContext;
+        }
+        delegate.init(context, root);
+    }
+
+    @Override
+    public void flush() {
+        delegate.flush();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public boolean persistent() {
+        return delegate.persistent();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    @Override
+    public <R> QueryResult<R> query(Query<R> query, PositionBound positionBound, QueryConfig config) {
+        return delegate.query(query, positionBound, config);
+    }
+
+    @Override
+    public Position getPosition() {
+        return delegate.getPosition();
+    }
+
+    private boolean requiresValues() {
+        for (NotificationStoreListener listener : listeners) {
+            if (listener.requiresValues()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean requiresPreviousValue() {
+        for (NotificationStoreListener listener : listeners) {
+            if (listener.requiresPreviousValue()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void notifyListeners(Bytes key, byte[] oldValue, byte[] newValue) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        String stringKey = new String(key.get(), StandardCharsets.UTF_8);
+        NotificationDetailsStoreType oldRecord = null;
+        NotificationDetailsStoreType newRecord = null;
+        if (requiresValues()) {
+            oldRecord = decode(oldValue);
+            newRecord = decode(newValue);
+        }
+        long timestamp = recordTimestamp();
+        for (NotificationStoreListener listener : listeners) {
+            if (listener.requiresValues()) {
+                listener.onUpdate(stringKey, listener.requiresPreviousValue() ? oldRecord : null, newRecord, timestamp);
+            } else {
+                listener.onUpdate(stringKey, null, null, timestamp);
+            }
+        }
+    }
+
+    /**
+     * The store contexts handed out by Kafka Streams also implement the
+     * processor context, which exposes the timestamp of the record in flight.
+     */
+    private long recordTimestamp() {
+        if (processorContext != null) {
+            try {
+                return processorContext.timestamp();
+            } catch (IllegalStateException e) {
+                // no record in flight
+            }
+        }
+        return System.currentTimeMillis();
+    }
+
+    private NotificationDetailsStoreType decode(byte[] value) {
+        if (value == null) {
+            return null;
+        }
+        if (timestampedBuilder && !delegate.persistent()) {
+            byte[] plain = new byte[value.length - TIMESTAMP_BYTES];
+            System.arraycopy(value, TIMESTAMP_BYTES, plain, 0, plain.length);
+            value = plain;
+        }
+        return valueDeserializer.deserialize(delegate.name(), value);
+    }
+}
@@ -0,0 +1,33 @@
+package stores;
+
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.state.KeyValueBytesStoreSupplier;
+import org.apache.kafka.streams.state.KeyValueStore;
+
+/**
+ * Supplies {@link OffHeapKeyValueStore} instances.
+ */
+public class OffHeapKeyValueBytesStoreSupplier implements KeyValueBytesStoreSupplier {
+    private final String name;
+    private final int slabBytes;
+
+    public OffHeapKeyValueBytesStoreSupplier(String name, int slabBytes) {
+        this.name = name;
+        this.slabBytes = slabBytes;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public KeyValueStore<Bytes, byte[]> get() {
+        return new OffHeapKeyValueStore(name, slabBytes);
+    }
+
+    @Override
+    public String metricsScope() {
+        return "off-heap";
+    }
+}
@@ -0,0 +1,688 @@
+package stores;
+
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.processor.StateStore;
+import org.apache.kafka.streams.processor.StateStoreContext;
+import org.apache.kafka.streams.query.Position;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Non-persistent byte store that keeps keys and values in direct
+ * {@link ByteBuffer} slabs outside the Java heap, located through a primitive
+ * open-addressing hash index. Writes append to the current slab; space of
+ * overwritten and deleted records is reclaimed by compacting into fresh slabs
+ * once it outweighs the live data.
+ * <p>
+ * Point reads are lock-shared and allocate only the returned value. Key order
+ * is kept in a chunked sorted array of record addresses next to the hash
+ * index, so a range or prefix scan seeks in O(log n) and then walks its k
+ * records; iterators read each record when they reach it.
+ */
+public class OffHeapKeyValueStore implements KeyValueStore<Bytes, byte[]> {
+    private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final long EMPTY = 0L;
+    private static final long DELETED = -1L;
+
+    private final String name;
+    private final int slabBytes;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private List<ByteBuffer> slabs = new ArrayList<>();
+    private int writeOffset;
+    private long[] addresses = new long[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private final KeyOrder order = new KeyOrder();
+    private int size;
+    private int deletedSlots;
+    private long liveBytes;
+    private long garbageBytes;
+    private volatile boolean open;
+
+    public OffHeapKeyValueStore(String name, int slabBytes) {
+        this.name = name;
+        this.slabBytes = slabBytes;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Deprecated
+    @Override
+    public void init(org.apache.kafka.streams.processor.ProcessorContext context, StateStore root) {
+        context.register(root, this::restore);
+        open = true;
+    }
+
+    @Override
+    public void init(StateStoreContext context, StateStore root) {
+        context.register(root, this::restore);
+        open = true;
+    }
+
+    private void restore(byte[] key, byte[] value) {
+        if (value == null) {
+            delete(Bytes.wrap(key));
+        } else {
+            put(Bytes.wrap(key), value);
+        }
+    }
+
+    @Override
+    public void put(Bytes key, byte[] value) {
+        if (value == null) {
+            delete(key);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            putInternal(key.get(), value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public byte[] putIfAbsent(Bytes key, byte[] value) {
+        lock.writeLock().lock();
+        try {
+            byte[] previous = getInternal(key.get());
+            if (previous == null && value != null) {
+                putInternal(key.get(), value);
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void putAll(List<KeyValue<Bytes, byte[]>> entries) {
+        for (KeyValue<Bytes, byte[]> entry : entries) {
+            put(entry.key, entry.value);
+        }
+    }
+
+    @Override
+    public byte[] delete(Bytes key) {
+        lock.writeLock().lock();
+        try {
+            byte[] keyBytes = key.get();
+            int slot = findSlot(keyBytes, hash(keyBytes));
+            if (slot < 0) {
+                return null;
+            }
+            long address = addresses[slot];
+            byte[] previous = readValue(address);
+            long recordBytes = recordBytes(address);
+            order.remove(keyBytes);
+            addresses[slot] = DELETED;
+            size--;
+            deletedSlots++;
+            liveBytes -= recordBytes;
+            garbageBytes += recordBytes;
+            compactIfNeeded();
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public byte[] get(Bytes key) {
+        lock.readLock().lock();
+        try {
+            return getInternal(key.get());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public KeyValueIterator<Bytes, byte[]> range(Bytes from, Bytes to) {
+        return iterator(from, to, null, false);
+    }
+
+    @Override
+    public KeyValueIterator<Bytes, byte[]> reverseRange(Bytes from, Bytes to) {
+        return iterator(from, to, null, true);
+    }
+
+    @Override
+    public KeyValueIterator<Bytes, byte[]> all() {
+        return iterator(null, null, null, false);
+    }
+
+    @Override
+    public KeyValueIterator<Bytes, byte[]> reverseAll() {
+        return iterator(null, null, null, true);
+    }
+
+    @Override
+    public <PS extends Serializer<P>, P> KeyValueIterator<Bytes, byte[]> prefixScan(P prefix, PS prefixKeySerializer) {
+        return iterator(null, null, prefixKeySerializer.serialize(null, prefix), false);
+    }
+
+    @Override
+    public long approximateNumEntries() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Bytes reserved in direct memory by the slabs of this store
+     */
+    public long reservedBytes() {
+        lock.readLock().lock();
+        try {
+            long reserved = 0;
+            for (ByteBuffer slab : slabs) {
+                reserved += slab.capacity();
+            }
+            return reserved;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            open = false;
+            slabs = new ArrayList<>();
+            addresses = new long[INITIAL_CAPACITY];
+            hashes = new int[INITIAL_CAPACITY];
+            order.clear();
+            writeOffset = 0;
+            size = 0;
+            deletedSlots = 0;
+            liveBytes = 0;
+            garbageBytes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean persistent() {
+        return false;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public Position getPosition() {
+        return Position.emptyPosition();
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private byte[] getInternal(byte[] key) {
+        int slot = findSlot(key, hash(key));
+        return slot >= 0 ? readValue(addresses[slot]) : null;
+    }
+
+    private void putInternal(byte[] key, byte[] value) {
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        long address = append(key, value);
+        long recordBytes = RECORD_HEADER_BYTES + key.length + value.length;
+        liveBytes += recordBytes;
+        if (slot >= 0) {
+            long previousBytes = recordBytes(addresses[slot]);
+            liveBytes -= previousBytes;
+            garbageBytes += previousBytes;
+            addresses[slot] = address;
+            order.replace(key, address);
+            compactIfNeeded();
+            return;
+        }
+        if ((size + deletedSlots + 1) * 4L >= addresses.length * 3L) {
+            rehash(size * 4L >= addresses.length ? addresses.length * 2 : addresses.length);
+        }
+        insertSlot(hash, address);
+        order.insert(key, address);
+        size++;
+    }
+
+    private void insertSlot(int hash, long address) {
+        int mask = addresses.length - 1;
+        int slot = hash & mask;
+        while (addresses[slot] != EMPTY && addresses[slot] != DELETED) {
+            slot = (slot + 1) & mask;
+        }
+        if (addresses[slot] == DELETED) {
+            deletedSlots--;
+        }
+        addresses[slot] = address;
+        hashes[slot] = hash;
+    }
+
+    private int findSlot(byte[] key, int hash) {
+        int mask = addresses.length - 1;
+        int slot = hash & mask;
+        while (true) {
+            long address = addresses[slot];
+            if (address == EMPTY) {
+                return -1;
+            }
+            if (address != DELETED && hashes[slot] == hash && keyEquals(address, key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldAddresses = addresses;
+        int[] oldHashes = hashes;
+        addresses = new long[capacity];
+        hashes = new int[capacity];
+        deletedSlots = 0;
+        for (int i = 0; i < oldAddresses.length; i++) {
+            if (oldAddresses[i] != EMPTY && oldAddresses[i] != DELETED) {
+                insertSlot(oldHashes[i], oldAddresses[i]);
+            }
+        }
+    }
+
+    /**
+     * Rewrites the live records into fresh slabs once overwritten and deleted
+     * records take more space than the live ones. Records are rewritten in key
+     * order, so scans afterwards read the slabs sequentially.
+     */
+    private void compactIfNeeded() {
+        if (garbageBytes < slabBytes || garbageBytes < liveBytes) {
+            return;
+        }
+        List<ByteBuffer> oldSlabs = slabs;
+        slabs = new ArrayList<>();
+        writeOffset = 0;
+        addresses = new long[addresses.length];
+        hashes = new int[addresses.length];
+        deletedSlots = 0;
+        garbageBytes = 0;
+        for (KeyOrder.Chunk chunk : order.chunks) {
+            for (int i = 0; i < chunk.size; i++) {
+                ByteBuffer slab = oldSlabs.get(slabIndex(chunk.addresses[i]));
+                int offset = slabOffset(chunk.addresses[i]);
+                byte[] key = new byte[slab.getInt(offset)];
+                byte[] value = new byte[slab.getInt(offset + Integer.BYTES)];
+                slab.get(offset + RECORD_HEADER_BYTES, key);
+                slab.get(offset + RECORD_HEADER_BYTES + key.length, value);
+                long address = append(key, value);
+                insertSlot(hash(key), address);
+                chunk.addresses[i] = address;
+            }
+        }
+    }
+
+    private long append(byte[] key, byte[] value) {
+        int recordBytes = RECORD_HEADER_BYTES + key.length + value.length;
+        ByteBuffer slab = slabs.isEmpty() ? null : slabs.get(slabs.size() - 1);
+        if (slab == null || slab.capacity() - writeOffset < recordBytes) {
+            slab = ByteBuffer.allocateDirect(Math.max(slabBytes, recordBytes));
+            slabs.add(slab);
+            writeOffset = 0;
+        }
+        int offset = writeOffset;
+        slab.putInt(offset, key.length);
+        slab.putInt(offset + Integer.BYTES, value.length);
+        slab.put(offset + RECORD_HEADER_BYTES, key);
+        slab.put(offset + RECORD_HEADER_BYTES + key.length, value);
+        writeOffset += recordBytes;
+        // addresses are stored with offset + 1 so that 0 can mark an empty slot
+        return ((long) (slabs.size() - 1) << 32) | (offset + 1L);
+    }
+
+    private boolean keyEquals(long address, byte[] key) {
+        ByteBuffer slab = slabs.get(slabIndex(address));
+        int offset = slabOffset(address);
+        if (slab.getInt(offset) != key.length) {
+            return false;
+        }
+        int keyOffset = offset + RECORD_HEADER_BYTES;
+        for (int i = 0; i < key.length; i++) {
+            if (slab.get(keyOffset + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares the stored key with the given key as unsigned bytes, the order of
+     * {@link Bytes#BYTES_LEXICO_COMPARATOR}.
+     */
+    private int compareKey(long address, byte[] key) {
+        ByteBuffer slab = slabs.get(slabIndex(address));
+        int offset = slabOffset(address);
+        int length = slab.getInt(offset);
+        int keyOffset = offset + RECORD_HEADER_BYTES;
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = (slab.get(keyOffset + i) & 0xFF) - (key[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length - key.length;
+    }
+
+    private byte[] readKey(long address) {
+        ByteBuffer slab = slabs.get(slabIndex(address));
+        int offset = slabOffset(address);
+        byte[] key = new byte[slab.getInt(offset)];
+        slab.get(offset + RECORD_HEADER_BYTES, key);
+        return key;
+    }
+
+    private byte[] readValue(long address) {
+        ByteBuffer slab = slabs.get(slabIndex(address));
+        int offset = slabOffset(address);
+        int keyLength = slab.getInt(offset);
+        byte[] value = new byte[slab.getInt(offset + Integer.BYTES)];
+        slab.get(offset + RECORD_HEADER_BYTES + keyLength, value);
+        return value;
+    }
+
+    private long recordBytes(long address) {
+        ByteBuffer slab = slabs.get(slabIndex(address));
+        int offset = slabOffset(address);
+        return RECORD_HEADER_BYTES + (long) slab.getInt(offset) + slab.getInt(offset + Integer.BYTES);
+    }
+
+    private static int slabIndex(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int slabOffset(long address) {
+        return (int) (address & 0xFFFFFFFFL) - 1;
+    }
+
+    private static int hash(byte[] key) {
+        int h = Arrays.hashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    private KeyValueIterator<Bytes, byte[]> iterator(Bytes from, Bytes to, byte[] prefix, boolean reverse) {
+        return new OrderedIterator(from != null ? from.get() : null, to != null ? to.get() : null, prefix, reverse);
+    }
+
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+        if (key.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (key[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Record addresses in key order, split into chunks of at most
+     * {@link #CHUNK_SIZE} so that an insert or delete only shifts one chunk.
+     * Guarded by the store lock.
+     */
+    private final class KeyOrder {
+        private static final int CHUNK_SIZE = 512;
+
+        private final List<Chunk> chunks = new ArrayList<>();
+        // bumped whenever positions shift, so iterators know to seek again
+        private int modCount;
+
+        private static final class Chunk {
+            private final long[] addresses = new long[CHUNK_SIZE];
+            private int size;
+        }
+
+        private void insert(byte[] key, long address) {
+            modCount++;
+            if (chunks.isEmpty()) {
+                Chunk first = new Chunk();
+                first.addresses[0] = address;
+                first.size = 1;
+                chunks.add(first);
+                return;
+            }
+            int chunkIndex = chunkFor(key, false);
+            if (chunkIndex == chunks.size()) {
+                chunkIndex--;
+            }
+            Chunk chunk = chunks.get(chunkIndex);
+            int position = positionIn(chunk, key, false);
+            System.arraycopy(chunk.addresses, position, chunk.addresses, position + 1, chunk.size - position);
+            chunk.addresses[position] = address;
+            chunk.size++;
+            if (chunk.size == CHUNK_SIZE) {
+                Chunk upper = new Chunk();
+                int half = CHUNK_SIZE / 2;
+                System.arraycopy(chunk.addresses, half, upper.addresses, 0, CHUNK_SIZE - half);
+                upper.size = CHUNK_SIZE - half;
+                chunk.size = half;
+                chunks.add(chunkIndex + 1, upper);
+            }
+        }
+
+        private void replace(byte[] key, long address) {
+            int chunkIndex = chunkFor(key, false);
+            Chunk chunk = chunks.get(chunkIndex);
+            chunk.addresses[positionIn(chunk, key, false)] = address;
+        }
+
+        private void remove(byte[] key) {
+            modCount++;
+            int chunkIndex = chunkFor(key, false);
+            Chunk chunk = chunks.get(chunkIndex);
+            int position = positionIn(chunk, key, false);
+            System.arraycopy(chunk.addresses, position + 1, chunk.addresses, position, chunk.size - position - 1);
+            chunk.size--;
+            if (chunk.size == 0) {
+                chunks.remove(chunkIndex);
+            }
+        }
+
+        private void clear() {
+            modCount++;
+            chunks.clear();
+        }
+
+        /**
+         * @return The first chunk whose last key is at or after the key (after
+         * it when {@code after}), or the chunk count if there is none
+         */
+        private int chunkFor(byte[] key, boolean after) {
+            int low = 0;
+            int high = chunks.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                Chunk chunk = chunks.get(mid);
+                int cmp = compareKey(chunk.addresses[chunk.size - 1], key);
+                if (cmp < 0 || (after && cmp == 0)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return The first position in the chunk whose key is at or after the
+         * key (after it when {@code after}), or the chunk size if there is none
+         */
+        private int positionIn(Chunk chunk, byte[] key, boolean after) {
+            int low = 0;
+            int high = chunk.size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compareKey(chunk.addresses[mid], key);
+                if (cmp < 0 || (after && cmp == 0)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Walks the key order from a seek position, reading each record under the
+     * read lock when it is reached. Writes between steps are seen; if they
+     * shift positions, the iterator seeks again past the last key it returned.
+     */
+    private final class OrderedIterator implements KeyValueIterator<Bytes, byte[]> {
+        private final byte[] from;
+        private final byte[] to;
+        private final byte[] prefix;
+        private final boolean reverse;
+        private byte[] lastKey;
+        private int chunkIndex;
+        private int position;
+        private int seenModCount;
+        private boolean positioned;
+        private boolean done;
+        private KeyValue<Bytes, byte[]> next;
+
+        private OrderedIterator(byte[] from, byte[] to, byte[] prefix, boolean reverse) {
+            this.from = prefix != null ? prefix : from;
+            this.to = to;
+            this.prefix = prefix;
+            this.reverse = reverse;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public KeyValue<Bytes, byte[]> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            KeyValue<Bytes, byte[]> current = next;
+            next = null;
+            return current;
+        }
+
+        @Override
+        public Bytes peekNextKey() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return next.key;
+        }
+
+        @Override
+        public void close() {
+            done = true;
+            next = null;
+        }
+
+        private void advance() {
+            lock.readLock().lock();
+            try {
+                if (!positioned || seenModCount != order.modCount) {
+                    seek();
+                }
+                if (chunkIndex < 0 || chunkIndex >= order.chunks.size()) {
+                    done = true;
+                    return;
+                }
+                long address = order.chunks.get(chunkIndex).addresses[position];
+                byte[] key = readKey(address);
+                if (reverse ? from != null && Arrays.compareUnsigned(key, from) < 0
+                        : to != null && Arrays.compareUnsigned(key, to) > 0
+                        || prefix != null && !startsWith(key, prefix)) {
+                    done = true;
+                    return;
+                }
+                next = KeyValue.pair(Bytes.wrap(key), readValue(address));
+                lastKey = key;
+                step();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void seek() {
+            positioned = true;
+            seenModCount = order.modCount;
+            List<KeyOrder.Chunk> chunks = order.chunks;
+            if (!reverse) {
+                byte[] target = lastKey != null ? lastKey : from;
+                if (target == null) {
+                    chunkIndex = 0;
+                    position = 0;
+                    return;
+                }
+                boolean after = lastKey != null;
+                chunkIndex = order.chunkFor(target, after);
+                position = chunkIndex < chunks.size() ? order.positionIn(chunks.get(chunkIndex), target, after) : 0;
+                return;
+            }
+            // the position before the first key past the upper bound
+            byte[] target = lastKey != null ? lastKey : to;
+            if (target == null) {
+                chunkIndex = chunks.size() - 1;
+                position = chunkIndex >= 0 ? chunks.get(chunkIndex).size - 1 : 0;
+                return;
+            }
+            boolean after = lastKey == null;
+            chunkIndex = order.chunkFor(target, after);
+            position = chunkIndex < chunks.size() ? order.positionIn(chunks.get(chunkIndex), target, after) : 0;
+            stepBack();
+        }
+
+        private void step() {
+            if (reverse) {
+                stepBack();
+                return;
+            }
+            position++;
+            if (position == order.chunks.get(chunkIndex).size) {
+                chunkIndex++;
+                position = 0;
+            }
+        }
+
+        private void stepBack() {
+            position--;
+            if (position < 0) {
+                chunkIndex--;
+                position = chunkIndex >= 0 ? order.chunks.get(chunkIndex).size - 1 : 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package types;
+
+/**
+ * Heap-compact form of {@link NotificationDetailsStoreType}. Low-cardinality
+ * columns are held as int codes into a shared {@link NotificationFieldDictionary};
+ * only the other non-null columns are held as strings, packed in column order
+ * and located through a bitmask.
+ */
+public final class CompactNotificationRecord {
+    private static final int OBJECT_HEADER_BYTES = 16;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private final NotificationFieldDictionary dictionary;
+    private final int[] codes;
+    // bit per column held in values, at the index of the bit's rank
+    private final long inline;
+    private final String[] values;
+    private final int amts;
+
+    private CompactNotificationRecord(NotificationFieldDictionary dictionary, int[] codes, long inline, String[] values, int amts) {
+        this.dictionary = dictionary;
+        this.codes = codes;
+        this.inline = inline;
+        this.values = values;
+        this.amts = amts;
+    }
+
+    /**
+     * Encodes a record. Dictionary columns keep their value inline only when
+     * the column dictionary is full.
+     */
+    public static CompactNotificationRecord of(NotificationDetailsStoreType record, NotificationFieldDictionary dictionary) {
+        String[] columns = NotificationDetailsColumns.toColumns(record);
+        int[] codes = new int[NotificationFieldDictionary.DICTIONARY_COLUMNS.length];
+        for (int slot = 0; slot < codes.length; slot++) {
+            int column = NotificationFieldDictionary.DICTIONARY_COLUMNS[slot];
+            codes[slot] = dictionary.encode(slot, columns[column]);
+            if (codes[slot] != NotificationFieldDictionary.UNENCODED) {
+                columns[column] = null;
+            }
+        }
+        long inline = 0;
+        int count = 0;
+        for (int column = 0; column < columns.length; column++) {
+            if (columns[column] != null) {
+                inline |= 1L << column;
+                count++;
+            }
+        }
+        String[] values = new String[count];
+        int index = 0;
+        for (String column : columns) {
+            if (column != null) {
+                values[index++] = column;
+            }
+        }
+        return new CompactNotificationRecord(dictionary, codes, inline, values, record.AMTS());
+    }
+
+    /**
+     * @param column A {@link NotificationDetailsColumns} position
+     */
+    public String get(int column) {
+        int slot = NotificationFieldDictionary.slotOf(column);
+        if (slot >= 0 && codes[slot] != NotificationFieldDictionary.UNENCODED) {
+            return dictionary.decode(slot, codes[slot]);
+        }
+        long bit = 1L << column;
+        return (inline & bit) != 0 ? values[Long.bitCount(inline & (bit - 1))] : null;
+    }
+
+    public int amts() {
+        return amts;
+    }
+
+    /**
+     * @return A regular record sharing this record's strings
+     */
+    public NotificationDetailsStoreType toRecord() {
+        return new NotificationDetailsStoreType(
+                get(NotificationDetailsColumns.NOTN),
+                get(NotificationDetailsColumns.NOTN_TYPE),
+                get(NotificationDetailsColumns.NOTN_DT),
+                get(NotificationDetailsColumns.NOTN_CAT),
+                get(NotificationDetailsColumns.PORT),
+                get(NotificationDetailsColumns.QUOTA_REQ),
+                get(NotificationDetailsColumns.CNTRY),
+                get(NotificationDetailsColumns.SLNO),
+                get(NotificationDetailsColumns.SUB_SLNO),
+                get(NotificationDetailsColumns.LIST_ITEM),
+                get(NotificationDetailsColumns.CTH),
+                get(NotificationDetailsColumns.ITEM_DESC),
+                get(NotificationDetailsColumns.RTA),
+                amts,
+                get(NotificationDetailsColumns.UQC),
+                get(NotificationDetailsColumns.FLG),
+                get(NotificationDetailsColumns.COND),
+                get(NotificationDetailsColumns.CVD_RTA),
+                get(NotificationDetailsColumns.CVD_AMTS),
+                get(NotificationDetailsColumns.CVD_UQC),
+                get(NotificationDetailsColumns.CVD_FLG),
+                get(NotificationDetailsColumns.AMND_REF),
+                get(NotificationDetailsColumns.MEMORAND),
+                get(NotificationDetailsColumns.CONDIT),
+                get(NotificationDetailsColumns.NOTN_ENDT),
+                get(NotificationDetailsColumns.A_NOTN),
+                get(NotificationDetailsColumns.A_NOTN_DT),
+                get(NotificationDetailsColumns.A_SLNO),
+                get(NotificationDetailsColumns.STATUS),
+                get(NotificationDetailsColumns.AD_FLG),
+                get(NotificationDetailsColumns.AMEND_BY),
+                get(NotificationDetailsColumns.AMEND_DT),
+                get(NotificationDetailsColumns.ENTRY_BY),
+                get(NotificationDetailsColumns.ENTRY_DT),
+                get(NotificationDetailsColumns.PFLG),
+                get(NotificationDetailsColumns.BCD_AMTS3),
+                get(NotificationDetailsColumns.BCD_UQC3),
+                get(NotificationDetailsColumns.BOND_CD),
+                get(NotificationDetailsColumns.SCH_CD),
+                get(NotificationDetailsColumns.DBK_TYPE),
+                get(NotificationDetailsColumns.SBMT_BY),
+                get(NotificationDetailsColumns.SBMT_DT),
+                get(NotificationDetailsColumns.NOTN_IDT),
+                get(NotificationDetailsColumns.ANTI_DUMP),
+                get(NotificationDetailsColumns.CVD_9)
+        );
+    }
+
+    /**
+     * @return Approximate retained heap of this record, excluding the shared dictionary
+     */
+    public long estimatedHeapBytes() {
+        long bytes = OBJECT_HEADER_BYTES + 3L * REFERENCE_BYTES + Long.BYTES + Integer.BYTES
+                + ARRAY_HEADER_BYTES + (long) codes.length * Integer.BYTES
+                + ARRAY_HEADER_BYTES + (long) values.length * REFERENCE_BYTES;
+        for (String value : values) {
+            bytes += STRING_OVERHEAD_BYTES + value.length();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,37 @@
+package types;
+
+import java.time.LocalDate;
+
+/**
+ * Date columns of a {@link NotificationDetailsStoreType} parsed once into
+ * epoch days. Missing or unparseable dates are {@link #NONE}.
+ */
+public record NotificationDates(
+        int NOTN_DT,
+        int NOTN_ENDT,
+        int A_NOTN_DT,
+        int AMEND_DT,
+        int ENTRY_DT,
+        int SBMT_DT,
+        int NOTN_IDT
+) {
+    public static final int NONE = Integer.MIN_VALUE;
+
+    /**
+     * A notification is effective from NOTN_DT through NOTN_ENDT inclusive; an
+     * absent end date means it is still in force.
+     * @param epochDay The day to check
+     * @return true if the notification is in force on the day
+     */
+    public boolean isEffectiveOn(long epochDay) {
+        return NOTN_DT != NONE && NOTN_DT <= epochDay && (NOTN_ENDT == NONE || NOTN_ENDT >= epochDay);
+    }
+
+    public boolean isEffectiveOn(LocalDate date) {
+        return isEffectiveOn(date.toEpochDay());
+    }
+
+    public static LocalDate toLocalDate(int epochDay) {
+        return epochDay == NONE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
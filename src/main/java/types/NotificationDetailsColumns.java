@@ -0,0 +1,205 @@
+package types;
+
+/**
+ * Fixed column order of the {@link NotificationDetailsStoreType} string fields,
+ * shared by the compact encodings of the record. {@code AMTS} is the only
+ * non-string field and is carried separately.
+ * Columns may only ever be appended; existing positions are part of the stored format.
+ */
+public final class NotificationDetailsColumns {
+    public static final int NOTN = 0;
+    public static final int NOTN_TYPE = 1;
+    public static final int NOTN_DT = 2;
+    public static final int NOTN_CAT = 3;
+    public static final int PORT = 4;
+    public static final int QUOTA_REQ = 5;
+    public static final int CNTRY = 6;
+    public static final int SLNO = 7;
+    public static final int SUB_SLNO = 8;
+    public static final int LIST_ITEM = 9;
+    public static final int CTH = 10;
+    public static final int ITEM_DESC = 11;
+    public static final int RTA = 12;
+    public static final int UQC = 13;
+    public static final int FLG = 14;
+    public static final int COND = 15;
+    public static final int CVD_RTA = 16;
+    public static final int CVD_AMTS = 17;
+    public static final int CVD_UQC = 18;
+    public static final int CVD_FLG = 19;
+    public static final int AMND_REF = 20;
+    public static final int MEMORAND = 21;
+    public static final int CONDIT = 22;
+    public static final int NOTN_ENDT = 23;
+    public static final int A_NOTN = 24;
+    public static final int A_NOTN_DT = 25;
+    public static final int A_SLNO = 26;
+    public static final int STATUS = 27;
+    public static final int AD_FLG = 28;
+    public static final int AMEND_BY = 29;
+    public static final int AMEND_DT = 30;
+    public static final int ENTRY_BY = 31;
+    public static final int ENTRY_DT = 32;
+    public static final int PFLG = 33;
+    public static final int BCD_AMTS3 = 34;
+    public static final int BCD_UQC3 = 35;
+    public static final int BOND_CD = 36;
+    public static final int SCH_CD = 37;
+    public static final int DBK_TYPE = 38;
+    public static final int SBMT_BY = 39;
+    public static final int SBMT_DT = 40;
+    public static final int NOTN_IDT = 41;
+    public static final int ANTI_DUMP = 42;
+    public static final int CVD_9 = 43;
+
+    public static final String[] NAMES = {
+            "NOTN",
+            "NOTN_TYPE",
+            "NOTN_DT",
+            "NOTN_CAT",
+            "PORT",
+            "QUOTA_REQ",
+            "CNTRY",
+            "SLNO",
+            "SUB_SLNO",
+            "LIST_ITEM",
+            "CTH",
+            "ITEM_DESC",
+            "RTA",
+            "UQC",
+            "FLG",
+            "COND",
+            "CVD_RTA",
+            "CVD_AMTS",
+            "CVD_UQC",
+            "CVD_FLG",
+            "AMND_REF",
+            "MEMORAND",
+            "CONDIT",
+            "NOTN_ENDT",
+            "A_NOTN",
+            "A_NOTN_DT",
+            "A_SLNO",
+            "STATUS",
+            "AD_FLG",
+            "AMEND_BY",
+            "AMEND_DT",
+            "ENTRY_BY",
+            "ENTRY_DT",
+            "PFLG",
+            "BCD_AMTS3",
+            "BCD_UQC3",
+            "BOND_CD",
+            "SCH_CD",
+            "DBK_TYPE",
+            "SBMT_BY",
+            "SBMT_DT",
+            "NOTN_IDT",
+            "ANTI_DUMP",
+            "CVD_9"
+    };
+
+    public static final int COUNT = NAMES.length;
+
+    private NotificationDetailsColumns() {
+    }
+
+    public static String[] toColumns(NotificationDetailsStoreType record) {
+        String[] columns = new String[COUNT];
+        columns[0] = record.NOTN();
+        columns[1] = record.NOTN_TYPE();
+        columns[2] = record.NOTN_DT();
+        columns[3] = record.NOTN_CAT();
+        columns[4] = record.PORT();
+        columns[5] = record.QUOTA_REQ();
+        columns[6] = record.CNTRY();
+        columns[7] = record.SLNO();
+        columns[8] = record.SUB_SLNO();
+        columns[9] = record.LIST_ITEM();
+        columns[10] = record.CTH();
+        columns[11] = record.ITEM_DESC();
+        columns[12] = record.RTA();
+        columns[13] = record.UQC();
+        columns[14] = record.FLG();
+        columns[15] = record.COND();
+        columns[16] = record.CVD_RTA();
+        columns[17] = record.CVD_AMTS();
+        columns[18] = record.CVD_UQC();
+        columns[19] = record.CVD_FLG();
+        columns[20] = record.AMND_REF();
+        columns[21] = record.MEMORAND();
+        columns[22] = record.CONDIT();
+        columns[23] = record.NOTN_ENDT();
+        columns[24] = record.A_NOTN();
+        columns[25] = record.A_NOTN_DT();
+        columns[26] = record.A_SLNO();
+        columns[27] = record.STATUS();
+        columns[28] = record.AD_FLG();
+        columns[29] = record.AMEND_BY();
+        columns[30] = record.AMEND_DT();
+        columns[31] = record.ENTRY_BY();
+        columns[32] = record.ENTRY_DT();
+        columns[33] = record.PFLG();
+        columns[34] = record.BCD_AMTS3();
+        columns[35] = record.BCD_UQC3();
+        columns[36] = record.BOND_CD();
+        columns[37] = record.SCH_CD();
+        columns[38] = record.DBK_TYPE();
+        columns[39] = record.SBMT_BY();
+        columns[40] = record.SBMT_DT();
+        columns[41] = record.NOTN_IDT();
+        columns[42] = record.ANTI_DUMP();
+        columns[43] = record.CVD_9();
+        return columns;
+    }
+
+    public static NotificationDetailsStoreType fromColumns(String[] columns, int amts) {
+        return new NotificationDetailsStoreType(
+                columns[0],
+                columns[1],
+                columns[2],
+                columns[3],
+                columns[4],
+                columns[5],
+                columns[6],
+                columns[7],
+                columns[8],
+                columns[9],
+                columns[10],
+                columns[11],
+                columns[12],
+                amts,
+                columns[13],
+                columns[14],
+                columns[15],
+                columns[16],
+                columns[17],
+                columns[18],
+                columns[19],
+                columns[20],
+                columns[21],
+                columns[22],
+                columns[23],
+                columns[24],
+                columns[25],
+                columns[26],
+                columns[27],
+                columns[28],
+                columns[29],
+                columns[30],
+                columns[31],
+                columns[32],
+                columns[33],
+                columns[34],
+                columns[35],
+                columns[36],
+                columns[37],
+                columns[38],
+                columns[39],
+                columns[40],
+                columns[41],
+                columns[42],
+                columns[43]
+        );
+    }
+}
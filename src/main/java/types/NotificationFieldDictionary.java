@@ -0,0 +1,121 @@
+package types;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared per-column dictionaries for the low-cardinality notification
+ * columns. Each distinct value is stored once and records refer to it by an
+ * int code. A column stops growing at {@code maxEntriesPerColumn}; values past
+ * that are kept inline by {@link CompactNotificationRecord}.
+ */
+public class NotificationFieldDictionary {
+    public static final int NULL_CODE = -1;
+    public static final int UNENCODED = -2;
+
+    /**
+     * Columns that take a small set of codes: types, categories, units,
+     * countries, ports, statuses and the various flags.
+     */
+    public static final int[] DICTIONARY_COLUMNS = {
+            NotificationDetailsColumns.NOTN_TYPE,
+            NotificationDetailsColumns.NOTN_CAT,
+            NotificationDetailsColumns.PORT,
+            NotificationDetailsColumns.QUOTA_REQ,
+            NotificationDetailsColumns.CNTRY,
+            NotificationDetailsColumns.UQC,
+            NotificationDetailsColumns.FLG,
+            NotificationDetailsColumns.CVD_UQC,
+            NotificationDetailsColumns.CVD_FLG,
+            NotificationDetailsColumns.STATUS,
+            NotificationDetailsColumns.AD_FLG,
+            NotificationDetailsColumns.PFLG,
+            NotificationDetailsColumns.BCD_UQC3,
+            NotificationDetailsColumns.BOND_CD,
+            NotificationDetailsColumns.SCH_CD,
+            NotificationDetailsColumns.DBK_TYPE,
+            NotificationDetailsColumns.ANTI_DUMP
+    };
+
+    private static final int[] SLOT_BY_COLUMN = new int[NotificationDetailsColumns.COUNT];
+
+    static {
+        Arrays.fill(SLOT_BY_COLUMN, -1);
+        for (int i = 0; i < DICTIONARY_COLUMNS.length; i++) {
+            SLOT_BY_COLUMN[DICTIONARY_COLUMNS[i]] = i;
+        }
+    }
+
+    private final int maxEntriesPerColumn;
+    private final ColumnDictionary[] columns = new ColumnDictionary[DICTIONARY_COLUMNS.length];
+
+    public NotificationFieldDictionary(int maxEntriesPerColumn) {
+        this.maxEntriesPerColumn = maxEntriesPerColumn;
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new ColumnDictionary();
+        }
+    }
+
+    /**
+     * @param column A {@link NotificationDetailsColumns} position
+     * @return The position of the column within {@link #DICTIONARY_COLUMNS}, or -1 if it is not dictionary encoded
+     */
+    public static int slotOf(int column) {
+        return SLOT_BY_COLUMN[column];
+    }
+
+    /**
+     * @return The code of the value, {@link #NULL_CODE} for null or {@link #UNENCODED} when the column is full
+     */
+    public int encode(int slot, String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        return columns[slot].encode(value, maxEntriesPerColumn);
+    }
+
+    public String decode(int slot, int code) {
+        return code >= 0 ? columns[slot].values[code] : null;
+    }
+
+    /**
+     * @return Number of distinct values held across all columns
+     */
+    public int size() {
+        int size = 0;
+        for (ColumnDictionary column : columns) {
+            size += column.codes.size();
+        }
+        return size;
+    }
+
+    private static final class ColumnDictionary {
+        private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+        private volatile String[] values = new String[16];
+
+        private int encode(String value, int maxEntries) {
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            synchronized (this) {
+                code = codes.get(value);
+                if (code != null) {
+                    return code;
+                }
+                int next = codes.size();
+                if (next >= maxEntries) {
+                    return UNENCODED;
+                }
+                String[] current = values;
+                if (next == current.length) {
+                    current = Arrays.copyOf(current, current.length * 2);
+                }
+                current[next] = value;
+                values = current;
+                codes.put(value, next);
+                return next;
+            }
+        }
+    }
+}
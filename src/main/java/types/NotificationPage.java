@@ -0,0 +1,13 @@
+package types;
+
+import java.util.List;
+
+/**
+ * One page of a notification scan. {@code nextToken} resumes the scan after
+ * the last record of this page and is null when the scan is complete.
+ */
+public record NotificationPage(
+        List<NotificationDetailsStoreType> items,
+        String nextToken
+) {
+}
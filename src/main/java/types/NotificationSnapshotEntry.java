@@ -0,0 +1,7 @@
+package types;
+
+/**
+ * One line of a JSON lines notification snapshot. A null value is a tombstone.
+ */
+public record NotificationSnapshotEntry(String key, NotificationDetailsStoreType value) {
+}
@@ -0,0 +1,20 @@
+package utils;
+
+/**
+ * What {@link AsyncLogWriter} does when callers log faster than it writes.
+ */
+public enum AsyncLogOverflowPolicy {
+    /**
+     * When the buffer is full, drop DEBUG and INFO events; WARN and ERROR wait for room.
+     */
+    DROP_BELOW_WARN,
+    /**
+     * When the buffer is full, every caller waits for room. Nothing is lost.
+     */
+    BLOCK,
+    /**
+     * Past the high-water mark, keep only one in sampleRate DEBUG and INFO
+     * events; when full, drop them. WARN and ERROR always wait for room.
+     */
+    SAMPLE
+}
@@ -0,0 +1,238 @@
+package utils;
+
+import org.slf4j.event.Level;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Takes {@link CustomConsole} events off the calling threads. Callers put
+ * events into a {@link LogRingBuffer}; one writer thread drains them in
+ * batches, renders each as a JSON line and flushes the target once per batch.
+ * Messages are kept as template plus arguments. Arguments are turned into
+ * strings on the calling thread, so later changes to them do not show up in
+ * the line; only the JSON rendering is deferred.
+ * <p>
+ * Lines go straight to the target and bypass SLF4J and logback: no appenders,
+ * filters, layouts or rolling policies apply. A file target is opened for
+ * append, so rotate it externally with copy-and-truncate, or leave the async
+ * mode off where logback's own rotation is needed.
+ */
+public class AsyncLogWriter implements AutoCloseable {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final double SAMPLE_HIGH_WATER_MARK = 0.75;
+
+    private final LogRingBuffer<Event> buffer;
+    private final Writer target;
+    private final int batchSize;
+    private final AsyncLogOverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final int sampleThreshold;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final Thread writerThread;
+    private final StringBuilder line = new StringBuilder(256);
+    private volatile boolean closed;
+
+    private record Event(long timestamp, Level level, String prefix, String thread, String message,
+                         String[] args, Throwable error) {
+    }
+
+    /**
+     * @param target Where JSON lines are written; flushed after every batch
+     * @param sampleRate For {@link AsyncLogOverflowPolicy#SAMPLE}, keep one in this many low-level events
+     */
+    public AsyncLogWriter(Writer target, int capacity, int batchSize, AsyncLogOverflowPolicy overflowPolicy, int sampleRate) {
+        if (capacity <= 0 || batchSize <= 0 || sampleRate <= 0) {
+            throw new IllegalArgumentException("capacity, batchSize and sampleRate must be positive");
+        }
+        this.buffer = new LogRingBuffer<>(capacity);
+        this.target = target;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = sampleRate;
+        this.sampleThreshold = (int) (buffer.capacity() * SAMPLE_HIGH_WATER_MARK);
+        this.writerThread = new Thread(this::run, "custom-console-async-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * @return false once the writer is closed, so the caller logs synchronously instead
+     */
+    public boolean submit(Level level, String prefix, String message, Object[] args, Throwable error) {
+        if (closed) {
+            return false;
+        }
+        boolean important = level == Level.WARN || level == Level.ERROR;
+        if (!important && overflowPolicy == AsyncLogOverflowPolicy.SAMPLE && buffer.size() >= sampleThreshold) {
+            if (sampleCounter.incrementAndGet() % sampleRate != 0) {
+                dropped.increment();
+                return true;
+            }
+        }
+        int argCount = args != null ? args.length : 0;
+        // like SLF4J, a trailing Throwable argument is the error rather than a value
+        if (error == null && argCount > 0 && args[argCount - 1] instanceof Throwable throwable) {
+            error = throwable;
+            argCount--;
+        }
+        String[] rendered = null;
+        if (argCount > 0) {
+            rendered = new String[argCount];
+            for (int i = 0; i < argCount; i++) {
+                rendered[i] = renderArg(args[i]);
+            }
+        }
+        Event event = new Event(System.currentTimeMillis(), level, prefix, Thread.currentThread().getName(),
+                message, rendered, error);
+        while (!buffer.offer(event)) {
+            if (!important && overflowPolicy != AsyncLogOverflowPolicy.BLOCK) {
+                dropped.increment();
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        return true;
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public long writtenCount() {
+        return written.sum();
+    }
+
+    public int queueDepth() {
+        return buffer.size();
+    }
+
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Stops accepting events, writes out what is buffered and waits for the writer thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            int count = drainBatch();
+            if (count == 0) {
+                if (closed && buffer.size() == 0) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private int drainBatch() {
+        int count = 0;
+        Event event;
+        try {
+            while (count < batchSize && (event = buffer.poll()) != null) {
+                target.write(render(event));
+                count++;
+            }
+            if (count > 0) {
+                target.flush();
+                written.add(count);
+            }
+        } catch (IOException e) {
+            // the target is gone; keep draining so callers never block on it
+            dropped.add(Math.max(1, count));
+        }
+        return count;
+    }
+
+    private String render(Event event) {
+        line.setLength(0);
+        line.append("{\"timestamp\":\"").append(Instant.ofEpochMilli(event.timestamp())).append('"');
+        field("level", event.level().name());
+        field("prefix", event.prefix());
+        field("thread", event.thread());
+        field("message", event.message());
+        String[] args = event.args();
+        Throwable error = event.error();
+        if (args != null) {
+            line.append(",\"args\":[");
+            for (int i = 0; i < args.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                quote(args[i]);
+            }
+            line.append(']');
+        }
+        if (error != null) {
+            field("error", error.toString());
+            StringWriter stack = new StringWriter();
+            error.printStackTrace(new PrintWriter(stack));
+            field("stack", stack.toString());
+        }
+        return line.append("}\n").toString();
+    }
+
+    private static String renderArg(Object arg) {
+        try {
+            return String.valueOf(arg);
+        } catch (RuntimeException e) {
+            return "[FAILED toString()]";
+        }
+    }
+
+    private void field(String name, String value) {
+        line.append(",\"").append(name).append("\":");
+        quote(value);
+    }
+
+    private void quote(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+}
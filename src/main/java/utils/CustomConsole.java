@@ -1,16 +1,27 @@
 package utils;
 
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.UUID;
+import java.util.function.Supplier;
 
+/**
+ * Prefixed logging facade that checks the level before building the message.
+ */
 @Slf4j
 @Component
 public class CustomConsole {
+    private static final int DEFAULT_RATE_LIMIT = 10;
+    private static final long DEFAULT_RATE_LIMIT_INTERVAL_MS = 60_000;
+    private static volatile AsyncLogWriter asyncWriter;
+    private static volatile LogRateLimiter rateLimiter;
+
     private final String prefix;
+    private final String messagePrefix;
 
     @Autowired
     public CustomConsole(@Value("${spring.application.name}") String applicationName) {
@@ -19,6 +30,7 @@ public class CustomConsole {
                 UUID.randomUUID().toString().substring(0, 5),
                 applicationName
         );
+        this.messagePrefix = prefix + " - ";
     }
 
     public CustomConsole(String... metaData) {
@@ -29,33 +41,295 @@ public class CustomConsole {
                 UUID.randomUUID().toString().substring(0, 5),
                 metadataStr
         );
+        this.messagePrefix = prefix + " - ";
+    }
+
+    /**
+     * Routes every instance through the writer, or back to synchronous logging when null.
+     */
+    public static void useAsyncWriter(AsyncLogWriter writer) {
+        asyncWriter = writer;
+    }
+
+    /**
+     * Replaces the limiter shared by every instance, closing the previous one.
+     */
+    public static void useRateLimiter(LogRateLimiter limiter) {
+        LogRateLimiter previous;
+        synchronized (CustomConsole.class) {
+            previous = rateLimiter;
+            rateLimiter = limiter;
+        }
+        if (previous != null && previous != limiter) {
+            previous.close();
+        }
+    }
+
+    private static LogRateLimiter rateLimiter() {
+        LogRateLimiter limiter = rateLimiter;
+        if (limiter == null) {
+            synchronized (CustomConsole.class) {
+                if (rateLimiter == null) {
+                    rateLimiter = new LogRateLimiter(DEFAULT_RATE_LIMIT, DEFAULT_RATE_LIMIT_INTERVAL_MS);
+                }
+                limiter = rateLimiter;
+            }
+        }
+        return limiter;
+    }
+
+    public boolean isDebugEnabled() {
+        return log.isDebugEnabled();
+    }
+
+    public boolean isInfoEnabled() {
+        return log.isInfoEnabled();
+    }
+
+    public void info(String message, Object arg) {
+        if (log.isInfoEnabled()) {
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.INFO, prefix, message, new Object[]{arg}, null)) {
+                log.info(messagePrefix + message, arg);
+            }
+        }
+    }
+
+    public void info(String message, Object arg1, Object arg2) {
+        if (log.isInfoEnabled()) {
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.INFO, prefix, message, new Object[]{arg1, arg2}, null)) {
+                log.info(messagePrefix + message, arg1, arg2);
+            }
+        }
     }
 
     public void info(String message, Object... args) {
-        log.info(prefix + " - " + message, args);
+        if (log.isInfoEnabled()) {
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.INFO, prefix, message, args, null)) {
+                log.info(messagePrefix + message, args);
+            }
+        }
+    }
+
+    public void info(Supplier<String> message) {
+        if (log.isInfoEnabled()) {
+            String text = message.get();
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.INFO, prefix, text, null, null)) {
+                log.info(messagePrefix + text);
+            }
+        }
+    }
+
+    public void error(String message, Object arg) {
+        if (log.isErrorEnabled()) {
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.ERROR, prefix, message, new Object[]{arg}, null)) {
+                log.error(messagePrefix + message, arg);
+            }
+        }
+    }
+
+    public void error(String message, Object arg1, Object arg2) {
+        if (log.isErrorEnabled()) {
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.ERROR, prefix, message, new Object[]{arg1, arg2}, null)) {
+                log.error(messagePrefix + message, arg1, arg2);
+            }
+        }
     }
 
     public void error(String message, Object... args) {
-        log.error(prefix + " - " + message, args);
+        if (log.isErrorEnabled()) {
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.ERROR, prefix, message, args, null)) {
+                log.error(messagePrefix + message, args);
+            }
+        }
     }
 
     public void error(String message, Throwable e) {
-        log.error(prefix + " - " + message, e);
+        if (log.isErrorEnabled()) {
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.ERROR, prefix, message, null, e)) {
+                log.error(messagePrefix + message, e);
+            }
+        }
+    }
+
+    public void error(Supplier<String> message, Throwable e) {
+        if (log.isErrorEnabled()) {
+            String text = message.get();
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.ERROR, prefix, text, null, e)) {
+                log.error(messagePrefix + text, e);
+            }
+        }
+    }
+
+    public void debug(String message, Object arg) {
+        if (log.isDebugEnabled()) {
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.DEBUG, prefix, message, new Object[]{arg}, null)) {
+                log.debug(messagePrefix + message, arg);
+            }
+        }
+    }
+
+    public void debug(String message, Object arg1, Object arg2) {
+        if (log.isDebugEnabled()) {
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.DEBUG, prefix, message, new Object[]{arg1, arg2}, null)) {
+                log.debug(messagePrefix + message, arg1, arg2);
+            }
+        }
     }
 
     public void debug(String message, Object... args) {
-        log.debug(prefix + " - " + message, args);
+        if (log.isDebugEnabled()) {
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.DEBUG, prefix, message, args, null)) {
+                log.debug(messagePrefix + message, args);
+            }
+        }
     }
 
     public void debug(String message, Throwable e) {
-        log.debug(prefix + " - " + message, e);
+        if (log.isDebugEnabled()) {
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.DEBUG, prefix, message, null, e)) {
+                log.debug(messagePrefix + message, e);
+            }
+        }
+    }
+
+    public void debug(Supplier<String> message) {
+        if (log.isDebugEnabled()) {
+            String text = message.get();
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.DEBUG, prefix, text, null, null)) {
+                log.debug(messagePrefix + text);
+            }
+        }
+    }
+
+    public void warn(String message, Object arg) {
+        if (log.isWarnEnabled()) {
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.WARN, prefix, message, new Object[]{arg}, null)) {
+                log.warn(messagePrefix + message, arg);
+            }
+        }
+    }
+
+    public void warn(String message, Object arg1, Object arg2) {
+        if (log.isWarnEnabled()) {
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.WARN, prefix, message, new Object[]{arg1, arg2}, null)) {
+                log.warn(messagePrefix + message, arg1, arg2);
+            }
+        }
     }
 
     public void warn(String message, Object... args) {
-        log.warn(prefix + " - " + message, args);
+        if (log.isWarnEnabled()) {
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.WARN, prefix, message, args, null)) {
+                log.warn(messagePrefix + message, args);
+            }
+        }
     }
 
     public void warn(String message, Throwable e) {
-        log.warn(prefix + " - " + message, e);
+        if (log.isWarnEnabled()) {
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.WARN, prefix, message, null, e)) {
+                log.warn(messagePrefix + message, e);
+            }
+        }
+    }
+
+    public void warn(Supplier<String> message) {
+        if (log.isWarnEnabled()) {
+            String text = message.get();
+            AsyncLogWriter writer = asyncWriter;
+            if (writer == null || !writer.submit(Level.WARN, prefix, text, null, null)) {
+                log.warn(messagePrefix + text);
+            }
+        }
+    }
+    // ==================== Rate-Limited and Sampled Methods ====================
+
+    /**
+     * Logs the first few occurrences of the template per interval; see {@link LogRateLimiter}.
+     */
+    public void errorRateLimited(String message, Object... args) {
+        if (log.isErrorEnabled() && rateLimiter().tryAcquire(Level.ERROR, message)) {
+            logArgs(Level.ERROR, message, args);
+        }
+    }
+
+    public void warnRateLimited(String message, Object... args) {
+        if (log.isWarnEnabled() && rateLimiter().tryAcquire(Level.WARN, message)) {
+            logArgs(Level.WARN, message, args);
+        }
+    }
+
+    public void infoRateLimited(String message, Object... args) {
+        if (log.isInfoEnabled() && rateLimiter().tryAcquire(Level.INFO, message)) {
+            logArgs(Level.INFO, message, args);
+        }
+    }
+
+    public void debugRateLimited(String message, Object... args) {
+        if (log.isDebugEnabled() && rateLimiter().tryAcquire(Level.DEBUG, message)) {
+            logArgs(Level.DEBUG, message, args);
+        }
+    }
+
+    /**
+     * Logs the first occurrence of the template and one in oneIn after it.
+     */
+    public void errorSampled(int oneIn, String message, Object... args) {
+        if (log.isErrorEnabled() && rateLimiter().sample(Level.ERROR, message, oneIn)) {
+            logArgs(Level.ERROR, message, args);
+        }
+    }
+
+    public void warnSampled(int oneIn, String message, Object... args) {
+        if (log.isWarnEnabled() && rateLimiter().sample(Level.WARN, message, oneIn)) {
+            logArgs(Level.WARN, message, args);
+        }
+    }
+
+    public void infoSampled(int oneIn, String message, Object... args) {
+        if (log.isInfoEnabled() && rateLimiter().sample(Level.INFO, message, oneIn)) {
+            logArgs(Level.INFO, message, args);
+        }
+    }
+
+    public void debugSampled(int oneIn, String message, Object... args) {
+        if (log.isDebugEnabled() && rateLimiter().sample(Level.DEBUG, message, oneIn)) {
+            logArgs(Level.DEBUG, message, args);
+        }
+    }
+
+    /**
+     * Level already checked by the caller.
+     */
+    private void logArgs(Level level, String message, Object[] args) {
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null && writer.submit(level, prefix, message, args, null)) {
+            return;
+        }
+        switch (level) {
+            case ERROR -> log.error(messagePrefix + message, args);
+            case WARN -> log.warn(messagePrefix + message, args);
+            case INFO -> log.info(messagePrefix + message, args);
+            case DEBUG -> log.debug(messagePrefix + message, args);
+            case TRACE -> log.trace(messagePrefix + message, args);
+        }
     }
-}
\ No newline at end of file
+}
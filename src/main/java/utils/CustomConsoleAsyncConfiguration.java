@@ -0,0 +1,55 @@
+package utils;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.BufferedWriter;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Opt-in asynchronous mode for {@link CustomConsole}: installs an
+ * {@link AsyncLogWriter} for every instance and exports its drop and queue
+ * depth counters. Events go to stdout, or to the configured file, as JSON lines,
+ * without passing through the logback configuration. Once the writer is closed
+ * on shutdown, instances fall back to synchronous logging.
+ */
+@Configuration
+@ConditionalOnProperty(name = "custom-console.async.enabled", havingValue = "true")
+public class CustomConsoleAsyncConfiguration {
+
+    @Bean
+    public AsyncLogWriter customConsoleAsyncWriter(
+            @Value("${custom-console.async.capacity:8192}") int capacity,
+            @Value("${custom-console.async.batch-size:256}") int batchSize,
+            @Value("${custom-console.async.overflow-policy:DROP_BELOW_WARN}") AsyncLogOverflowPolicy overflowPolicy,
+            @Value("${custom-console.async.sample-rate:10}") int sampleRate,
+            @Value("${custom-console.async.file:}") String file,
+            ObjectProvider<MeterRegistry> meterRegistry) throws FileNotFoundException {
+        Writer target = new BufferedWriter(new OutputStreamWriter(
+                file.isBlank() ? System.out : new FileOutputStream(file, true), StandardCharsets.UTF_8));
+        AsyncLogWriter writer = new AsyncLogWriter(target, capacity, batchSize, overflowPolicy, sampleRate);
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder("custom.console.async.dropped", writer, AsyncLogWriter::droppedCount)
+                    .description("Log events dropped or sampled out by the async writer")
+                    .register(registry);
+            FunctionCounter.builder("custom.console.async.written", writer, AsyncLogWriter::writtenCount)
+                    .description("Log events written by the async writer")
+                    .register(registry);
+            Gauge.builder("custom.console.async.queue.depth", writer, AsyncLogWriter::queueDepth)
+                    .description("Log events waiting for the async writer")
+                    .register(registry);
+        });
+        CustomConsole.useAsyncWriter(writer);
+        return writer;
+    }
+}
@@ -0,0 +1,23 @@
+package utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the limiter behind the rate-limited and sampled
+ * {@link CustomConsole} variants. Without it, the variants fall back to
+ * 10 occurrences per template per minute.
+ */
+@Configuration
+public class CustomConsoleRateLimitConfiguration {
+
+    @Bean
+    public LogRateLimiter customConsoleRateLimiter(
+            @Value("${custom-console.rate-limit.max-per-interval:10}") int maxPerInterval,
+            @Value("${custom-console.rate-limit.interval-ms:60000}") long intervalMs) {
+        LogRateLimiter limiter = new LogRateLimiter(maxPerInterval, intervalMs);
+        CustomConsole.useRateLimiter(limiter);
+        return limiter;
+    }
+}
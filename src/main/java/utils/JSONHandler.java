@@ -1,33 +1,100 @@
 package utils;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Component
-@RequiredArgsConstructor
 public class JSONHandler {
+    private static final byte[] EMPTY_OBJECT_BYTES = {'{', '}'};
+    private static final byte[] EMPTY_ARRAY_BYTES = {'[', ']'};
+    private static final int INITIAL_SCRATCH_BYTES = 1024;
+    private static final int MAX_POOLED_SCRATCH_BYTES = 1 << 20;
+    private static final int MAX_COMPILED_PATHS = 1024;
+
     private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+    private final ObjectWriter prettyWriter;
+    private final ObjectWriter sortedPrettyWriter;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ThreadLocal<ScratchBuffer> scratchBuffers =
+            ThreadLocal.withInitial(() -> new ScratchBuffer(INITIAL_SCRATCH_BYTES));
+    private final Cache<String, JsonPathExpression> compiledPaths =
+            Caffeine.newBuilder().maximumSize(MAX_COMPILED_PATHS).build();
+    private final JsonMetrics metrics;
+
+    public JSONHandler(ObjectMapper objectMapper) {
+        this(objectMapper, (MeterRegistry) null);
+    }
+
+    /**
+     * Records nothing when the application has no MeterRegistry.
+     */
+    @Autowired
+    public JSONHandler(ObjectMapper objectMapper, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(objectMapper, meterRegistry.getIfAvailable());
+    }
+
+    /**
+     * @param meterRegistry Registry for parse/serialize latency and payload sizes, or null to record nothing
+     */
+    public JSONHandler(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.metrics = meterRegistry != null ? new JsonMetrics(meterRegistry) : JsonMetrics.DISABLED;
+        this.writer = objectMapper.writer();
+        this.prettyWriter = objectMapper.writerWithDefaultPrettyPrinter();
+        this.sortedPrettyWriter = prettyWriter.with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+    }
 
     // ==================== Common Methods ====================
 
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
     public String stringify(JsonNode node) {
         if (node == null) {
             return "{}";
         }
         try {
-            return objectMapper.writeValueAsString(node);
+            return writer.writeValueAsString(node);
         } catch (Exception e) {
             return node.isArray() ? "[]" : "{}";
         }
@@ -42,10 +109,7 @@ public class JSONHandler {
             return "{}";
         }
         try {
-            ObjectMapper writer = sortKeys ?
-                    objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true) :
-                    objectMapper;
-            return writer.writerWithDefaultPrettyPrinter().writeValueAsString(node);
+            return (sortKeys ? sortedPrettyWriter : prettyWriter).writeValueAsString(node);
         } catch (Exception e) {
             return node.isArray() ? "[]" : "{}";
         }
@@ -83,6 +147,77 @@ public class JSONHandler {
         return node == null || node.isNull();
     }
 
+    // ==================== Write Methods ====================
+
+    /**
+     * Serializes straight to the stream without building a String.
+     * @return The number of bytes written
+     */
+    public int writeTo(JsonNode node, OutputStream out) {
+        ScratchBuffer scratch = serialize(node);
+        try {
+            scratch.writeTo(out);
+            return scratch.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            releaseScratch(scratch);
+        }
+    }
+
+    public int writeTo(Object value, OutputStream out) {
+        ScratchBuffer scratch = serialize(value);
+        try {
+            scratch.writeTo(out);
+            return scratch.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            releaseScratch(scratch);
+        }
+    }
+
+    /**
+     * Advances the buffer past the written bytes; leaves it untouched if they do not fit.
+     * @return The number of bytes written
+     * @throws java.nio.BufferOverflowException if the buffer has too little room
+     */
+    public int writeTo(JsonNode node, ByteBuffer buffer) {
+        ScratchBuffer scratch = serialize(node);
+        try {
+            return scratch.copyTo(buffer);
+        } finally {
+            releaseScratch(scratch);
+        }
+    }
+
+    public int writeTo(Object value, ByteBuffer buffer) {
+        ScratchBuffer scratch = serialize(value);
+        try {
+            return scratch.copyTo(buffer);
+        } finally {
+            releaseScratch(scratch);
+        }
+    }
+
+    public byte[] toBytes(JsonNode node) {
+        ScratchBuffer scratch = serialize(node);
+        try {
+            return scratch.toByteArray();
+        } finally {
+            releaseScratch(scratch);
+        }
+    }
+
+    public byte[] toBytes(Object value) {
+        ScratchBuffer scratch = serialize(value);
+        try {
+            return scratch.toByteArray();
+        } finally {
+            releaseScratch(scratch);
+        }
+    }
+
     // ==================== Creation and Parse Methods ====================
 
     public ObjectNode createObject() {
@@ -119,20 +254,73 @@ public class JSONHandler {
 
     public <T> T parse(String value, Class<T> valueType) {
         try {
-            return objectMapper.readValue(value, valueType);
+            return readerFor(valueType).readValue(value);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
     }
 
     public <T> T parse(byte[] content, Class<T> valueType) {
+        long started = metrics.start();
         try {
-            return objectMapper.readValue(content, valueType);
+            T value = readerFor(valueType).readValue(content);
+            metrics.parsed(started, content.length);
+            return value;
         } catch (Exception e) {
             return null;
         }
     }
 
+    public <T> T parse(byte[] content, int offset, int length, Class<T> valueType) {
+        long started = metrics.start();
+        try {
+            T value = readerFor(valueType).readValue(content, offset, length);
+            metrics.parsed(started, length);
+            return value;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public <T> T parse(InputStream content, Class<T> valueType) {
+        try {
+            return readerFor(valueType).readValue(content);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses the remaining bytes of the buffer without moving its position.
+     */
+    public <T> T parse(ByteBuffer content, Class<T> valueType) {
+        try {
+            return read(content, valueType);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Like {@link #parse(ByteBuffer, Class)} but throws on malformed content instead of returning null.
+     */
+    public <T> T read(ByteBuffer content, Class<T> valueType) throws IOException {
+        long started = metrics.start();
+        int length = content.remaining();
+        T value = content.hasArray()
+                ? readerFor(valueType).readValue(content.array(), content.arrayOffset() + content.position(), length)
+                : readerFor(valueType).readValue(new ByteBufferBackedInputStream(content.duplicate()));
+        metrics.parsed(started, length);
+        return value;
+    }
+
+    /**
+     * @return A reader bound to the type, built once and shared; ObjectReader is immutable and thread-safe
+     */
+    public ObjectReader readerFor(Class<?> valueType) {
+        return readers.computeIfAbsent(valueType, objectMapper::readerFor);
+    }
+
     public <T> T parse(File file, Class<T> valueType) {
         try {
             return objectMapper.readValue(file, valueType);
@@ -155,12 +343,98 @@ public class JSONHandler {
 
     public ObjectNode createObjectWithString(String json) {
         JsonNode node = parse(json);
-        return node != null && node.isObject() ? (ObjectNode) node.deepCopy() : createObject();
+        return node != null && node.isObject() ? (ObjectNode) node : createObject();
     }
 
     public ArrayNode createArrayWithString(String json) {
         JsonNode node = parse(json);
-        return node != null && node.isArray() ? (ArrayNode) node.deepCopy() : createArray();
+        return node != null && node.isArray() ? (ArrayNode) node : createArray();
+    }
+
+    // ==================== Streaming Methods ====================
+
+    /**
+     * Lazily reads a top-level JSON array from the memory-mapped file. Close the stream to release the file.
+     * @throws UncheckedIOException if the file cannot be opened or does not hold an array
+     */
+    public <T> Stream<T> streamArray(File file, Class<T> elementType) {
+        MappingIterator<T> elements = openArray(file, elementType);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED), false)
+                .onClose(() -> closeQuietly(elements));
+    }
+
+    /**
+     * Like {@link #streamArray(File, Class)} in new lists of at most batchSize.
+     */
+    public <T> Stream<List<T>> streamArray(File file, Class<T> elementType, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        MappingIterator<T> elements = openArray(file, elementType);
+        Iterator<List<T>> batches = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return elements.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                if (!elements.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<T> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && elements.hasNext()) {
+                    batch.add(elements.next());
+                }
+                return batch;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+                .onClose(() -> closeQuietly(elements));
+    }
+
+    /**
+     * Pushes the array elements to the consumer in batches of at most batchSize.
+     * @return The number of elements read
+     */
+    public <T> long forEachBatch(File file, Class<T> elementType, int batchSize, Consumer<List<T>> consumer) {
+        long count = 0;
+        try (Stream<List<T>> batches = streamArray(file, elementType, batchSize)) {
+            Iterator<List<T>> iterator = batches.iterator();
+            while (iterator.hasNext()) {
+                List<T> batch = iterator.next();
+                count += batch.size();
+                consumer.accept(batch);
+            }
+        }
+        return count;
+    }
+
+    private <T> MappingIterator<T> openArray(File file, Class<T> elementType) {
+        JsonParser parser = null;
+        try {
+            parser = objectMapper.getFactory().createParser(new MappedFileInputStream(file));
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException(String.format("Expected a JSON array in %s", file));
+            }
+            // the iterator advances onto each element itself, including END_ARRAY of an empty array
+            parser.clearCurrentToken();
+            return readerFor(elementType).readValues(parser);
+        } catch (IOException e) {
+            closeQuietly(parser);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // nothing left to release
+        }
     }
 
     // ==================== Put Methods ====================
@@ -811,6 +1085,15 @@ public class JSONHandler {
         }
     }
 
+    /**
+     * Like {@link #setAll(ObjectNode, ObjectNode)} but shares the source's child nodes instead of copying them.
+     */
+    public void setAllShared(ObjectNode targetNode, ObjectNode sourceNode) {
+        if (targetNode != null && sourceNode != null) {
+            targetNode.setAll(sourceNode);
+        }
+    }
+
     // ==================== Utility Methods ====================
 
     // Remove methods
@@ -880,6 +1163,31 @@ public class JSONHandler {
         }
     }
 
+    /**
+     * Shallow merge that shares the source's child nodes instead of copying them.
+     */
+    public void mergeShared(ObjectNode targetNode, ObjectNode sourceNode) {
+        setAllShared(targetNode, sourceNode);
+    }
+
+    /**
+     * Merges objects present on both sides field by field; other source values replace the target's as copies.
+     */
+    public void deepMerge(ObjectNode targetNode, ObjectNode sourceNode) {
+        if (targetNode != null && sourceNode != null) {
+            deepMerge(targetNode, sourceNode, true);
+        }
+    }
+
+    /**
+     * Like {@link #deepMerge(ObjectNode, ObjectNode)} but shares the replaced values instead of copying them.
+     */
+    public void deepMergeShared(ObjectNode targetNode, ObjectNode sourceNode) {
+        if (targetNode != null && sourceNode != null) {
+            deepMerge(targetNode, sourceNode, false);
+        }
+    }
+
     // ==================== Conversion Methods ====================
 
     public Map<String, Object> toMap(ObjectNode node) {
@@ -931,8 +1239,128 @@ public class JSONHandler {
         }
     }
 
+    /**
+     * Like {@link #at(JsonNode, String)} without the copy; the view cannot change the document.
+     */
+    public JsonNodeView atView(JsonNode node, String jsonPointer) {
+        try {
+            return JsonNodeView.of(node.at(jsonPointer));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Compiles a JSON Pointer or JSONPath expression; compiled paths are cached.
+     * @throws IllegalArgumentException if the path is malformed
+     */
+    public JsonPathExpression compilePath(String path) {
+        return compiledPaths.get(path, JsonPathExpression::compile);
+    }
+
+    /**
+     * Builds an extractor that reads every named path in one traversal.
+     * @param namedPaths Result name to JSON Pointer or JSONPath expression, in result order
+     */
+    public JsonPathExtractor compileExtractor(Map<String, String> namedPaths) {
+        Map<String, JsonPathExpression> compiled = new LinkedHashMap<>();
+        namedPaths.forEach((name, path) -> compiled.put(name, compilePath(path)));
+        return new JsonPathExtractor(compiled);
+    }
+
+    /**
+     * Like {@link #atView(JsonNode, String)} for a compiled path.
+     */
+    public JsonNodeView atView(JsonNode node, JsonPathExpression path) {
+        return node != null ? JsonNodeView.of(path.first(node)) : null;
+    }
+
+    public JsonNode at(JsonNode node, JsonPathExpression path) {
+        JsonNode value = node != null ? path.first(node) : null;
+        return value != null ? value.deepCopy() : null;
+    }
+
     // ==================== Private Helper Methods ====================
 
+    private void deepMerge(ObjectNode targetNode, ObjectNode sourceNode, boolean copy) {
+        sourceNode.fields().forEachRemaining(entry -> {
+            JsonNode sourceValue = entry.getValue();
+            JsonNode targetValue = targetNode.get(entry.getKey());
+            if (sourceValue.isObject() && targetValue != null && targetValue.isObject()) {
+                deepMerge((ObjectNode) targetValue, (ObjectNode) sourceValue, copy);
+            } else {
+                targetNode.set(entry.getKey(), copy ? sourceValue.deepCopy() : sourceValue);
+            }
+        });
+    }
+
+    /**
+     * Serializes into this thread's scratch buffer, with the fallbacks of {@link #stringify(JsonNode)}.
+     */
+    private ScratchBuffer serialize(JsonNode node) {
+        ScratchBuffer scratch = scratchBuffers.get();
+        scratch.reset();
+        if (node == null) {
+            scratch.writeBytes(EMPTY_OBJECT_BYTES);
+            return scratch;
+        }
+        long started = metrics.start();
+        try {
+            writer.writeValue(scratch, node);
+            metrics.serialized(started, scratch.size());
+        } catch (Exception e) {
+            scratch.reset();
+            scratch.writeBytes(node.isArray() ? EMPTY_ARRAY_BYTES : EMPTY_OBJECT_BYTES);
+        }
+        return scratch;
+    }
+
+    private ScratchBuffer serialize(Object value) {
+        if (value instanceof JsonNode node) {
+            return serialize(node);
+        }
+        ScratchBuffer scratch = scratchBuffers.get();
+        scratch.reset();
+        if (value == null) {
+            scratch.writeBytes(EMPTY_OBJECT_BYTES);
+            return scratch;
+        }
+        long started = metrics.start();
+        try {
+            writer.writeValue(scratch, value);
+            metrics.serialized(started, scratch.size());
+        } catch (Exception e) {
+            scratch.reset();
+            boolean isArray = value instanceof Collection<?> || value.getClass().isArray();
+            scratch.writeBytes(isArray ? EMPTY_ARRAY_BYTES : EMPTY_OBJECT_BYTES);
+        }
+        return scratch;
+    }
+
+    /**
+     * Keeps one large document from pinning its scratch buffer to the thread.
+     */
+    private void releaseScratch(ScratchBuffer scratch) {
+        if (scratch.capacity() > MAX_POOLED_SCRATCH_BYTES) {
+            scratchBuffers.remove();
+        }
+    }
+
+    private static final class ScratchBuffer extends ByteArrayOutputStream {
+        private ScratchBuffer(int size) {
+            super(size);
+        }
+
+        private int capacity() {
+            return buf.length;
+        }
+
+        private int copyTo(ByteBuffer buffer) {
+            buffer.put(buf, 0, count);
+            return count;
+        }
+    }
+
     private void ensureArrayCapacity(ArrayNode node, int index) {
         while (node.size() <= index) {
             node.addNull();
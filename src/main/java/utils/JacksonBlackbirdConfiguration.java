@@ -0,0 +1,22 @@
+package utils;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Opt-in Blackbird module: replaces reflective accessors with generated
+ * lambdas for records such as NotificationDetailsStoreType. Spring Boot
+ * registers every Module bean with the shared ObjectMapper used by {@link JSONHandler}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "json.blackbird.enabled", havingValue = "true")
+public class JacksonBlackbirdConfiguration {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,65 @@
+package utils;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse and serialize latency and payload sizes for {@link JSONHandler}.
+ * Without a registry every call is a no-op and no clock is read.
+ */
+final class JsonMetrics {
+    static final JsonMetrics DISABLED = new JsonMetrics(null);
+
+    private final Timer parseTimer;
+    private final DistributionSummary parseBytes;
+    private final Timer serializeTimer;
+    private final DistributionSummary serializeBytes;
+
+    JsonMetrics(MeterRegistry meterRegistry) {
+        if (meterRegistry == null) {
+            parseTimer = null;
+            parseBytes = null;
+            serializeTimer = null;
+            serializeBytes = null;
+            return;
+        }
+        parseTimer = Timer.builder("json.parse")
+                .description("Time to bind JSON bytes to a value")
+                .register(meterRegistry);
+        parseBytes = DistributionSummary.builder("json.parse.bytes")
+                .description("Size of parsed JSON payloads")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        serializeTimer = Timer.builder("json.serialize")
+                .description("Time to serialize a value to JSON bytes")
+                .register(meterRegistry);
+        serializeBytes = DistributionSummary.builder("json.serialize.bytes")
+                .description("Size of serialized JSON payloads")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return A start time for {@link #parsed} or {@link #serialized}, or 0 when disabled
+     */
+    long start() {
+        return parseTimer != null ? System.nanoTime() : 0;
+    }
+
+    void parsed(long startNanos, int bytes) {
+        if (parseTimer != null) {
+            parseTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            parseBytes.record(bytes);
+        }
+    }
+
+    void serialized(long startNanos, int bytes) {
+        if (serializeTimer != null) {
+            serializeTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            serializeBytes.record(bytes);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Read-only view of a node inside a JSON document. Navigation returns further
+ * views, so the shared tree can be read without copying but never changed.
+ */
+public final class JsonNodeView {
+    private final JsonNode node;
+
+    private JsonNodeView(JsonNode node) {
+        this.node = node;
+    }
+
+    /**
+     * @return A view of the node, or null for a null or missing node
+     */
+    public static JsonNodeView of(JsonNode node) {
+        return node != null && !node.isMissingNode() ? new JsonNodeView(node) : null;
+    }
+
+    public boolean isObject() {
+        return node.isObject();
+    }
+
+    public boolean isArray() {
+        return node.isArray();
+    }
+
+    public boolean isValueNode() {
+        return node.isValueNode();
+    }
+
+    public boolean isNull() {
+        return node.isNull();
+    }
+
+    public int size() {
+        return node.size();
+    }
+
+    public boolean has(String fieldName) {
+        return node.has(fieldName);
+    }
+
+    /**
+     * @return The field's view, or null if it is absent
+     */
+    public JsonNodeView get(String fieldName) {
+        return of(node.get(fieldName));
+    }
+
+    /**
+     * @return The element's view, or null if the index is out of range
+     */
+    public JsonNodeView get(int index) {
+        return of(node.get(index));
+    }
+
+    /**
+     * @return The view at the JSON Pointer, or null if nothing matches
+     */
+    public JsonNodeView at(String jsonPointer) {
+        return of(node.at(jsonPointer));
+    }
+
+    public List<String> fieldNames() {
+        List<String> names = StreamSupport.stream(((Iterable<String>) node::fieldNames).spliterator(), false)
+                .collect(Collectors.toList());
+        return Collections.unmodifiableList(names);
+    }
+
+    public Iterator<JsonNodeView> elements() {
+        Iterator<JsonNode> elements = node.elements();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return elements.hasNext();
+            }
+
+            @Override
+            public JsonNodeView next() {
+                return new JsonNodeView(elements.next());
+            }
+        };
+    }
+
+    /**
+     * @return The object's fields as views, in document order
+     */
+    public Map<String, JsonNodeView> fields() {
+        Map<String, JsonNodeView> fields = new LinkedHashMap<>();
+        node.fields().forEachRemaining(entry -> fields.put(entry.getKey(), new JsonNodeView(entry.getValue())));
+        return Collections.unmodifiableMap(fields);
+    }
+
+    public String textValue() {
+        return node.textValue();
+    }
+
+    public String asText() {
+        return node.asText();
+    }
+
+    public long asLong() {
+        return node.asLong();
+    }
+
+    public double asDouble() {
+        return node.asDouble();
+    }
+
+    public boolean asBoolean() {
+        return node.asBoolean();
+    }
+
+    /**
+     * @return A mutable deep copy of the viewed node
+     */
+    public JsonNode copy() {
+        return node.deepCopy();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof JsonNodeView view && node.equals(view.node);
+    }
+
+    @Override
+    public int hashCode() {
+        return node.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return node.toString();
+    }
+}
@@ -0,0 +1,262 @@
+package utils;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Compiled, immutable path into a JSON tree, safe to share between threads.
+ * Accepts either a JSON Pointer ({@code /a/0/b}) or a JSONPath subset rooted at
+ * {@code $}: {@code .name}, {@code ['name']}, {@code [n]} (negative counts from
+ * the end), {@code [*]} / {@code .*} and slices {@code [start:end]}.
+ * Matches are the nodes inside the document, not copies.
+ */
+public final class JsonPathExpression {
+    private final String path;
+    private final List<Segment> segments;
+    private final boolean multiValued;
+
+    private JsonPathExpression(String path, List<Segment> segments) {
+        this.path = path;
+        this.segments = Collections.unmodifiableList(segments);
+        this.multiValued = segments.stream().anyMatch(segment -> segment instanceof Wildcard || segment instanceof Slice);
+    }
+
+    public static JsonPathExpression compile(String path) {
+        if (path == null) {
+            throw new IllegalArgumentException("JSON path must not be null");
+        }
+        if (path.isEmpty() || path.charAt(0) == '/') {
+            return new JsonPathExpression(path, compilePointer(path));
+        }
+        if (path.charAt(0) == '$') {
+            return new JsonPathExpression(path, compileJsonPath(path));
+        }
+        throw new IllegalArgumentException(String.format("Invalid JSON path '%s': must start with '/' or '$'", path));
+    }
+
+    public String path() {
+        return path;
+    }
+
+    /**
+     * @return true if the path can match more than one node
+     */
+    public boolean isMultiValued() {
+        return multiValued;
+    }
+
+    List<Segment> segments() {
+        return segments;
+    }
+
+    /**
+     * @return The first matching node, or null if nothing matches
+     */
+    public JsonNode first(JsonNode root) {
+        if (!multiValued) {
+            JsonNode current = root;
+            for (Segment segment : segments) {
+                if (current == null) {
+                    return null;
+                }
+                current = segment.single(current);
+            }
+            return current;
+        }
+        List<JsonNode> matches = select(root);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    /**
+     * @return All matching nodes in document order
+     */
+    public List<JsonNode> select(JsonNode root) {
+        List<JsonNode> matches = new ArrayList<>();
+        if (root != null) {
+            evaluate(root, 0, matches::add);
+        }
+        return matches;
+    }
+
+    private void evaluate(JsonNode node, int index, Consumer<JsonNode> out) {
+        if (index == segments.size()) {
+            out.accept(node);
+            return;
+        }
+        segments.get(index).apply(node, child -> evaluate(child, index + 1, out));
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    // ==================== Segments ====================
+
+    sealed interface Segment permits Field, Index, Wildcard, Slice, Token {
+        void apply(JsonNode node, Consumer<JsonNode> out);
+
+        default JsonNode single(JsonNode node) {
+            JsonNode[] match = new JsonNode[1];
+            apply(node, child -> {
+                if (match[0] == null) {
+                    match[0] = child;
+                }
+            });
+            return match[0];
+        }
+    }
+
+    record Field(String name) implements Segment {
+        @Override
+        public void apply(JsonNode node, Consumer<JsonNode> out) {
+            JsonNode child = node.isObject() ? node.get(name) : null;
+            if (child != null) {
+                out.accept(child);
+            }
+        }
+    }
+
+    record Index(int index) implements Segment {
+        @Override
+        public void apply(JsonNode node, Consumer<JsonNode> out) {
+            if (node.isArray()) {
+                int position = index < 0 ? node.size() + index : index;
+                JsonNode child = position >= 0 ? node.get(position) : null;
+                if (child != null) {
+                    out.accept(child);
+                }
+            }
+        }
+    }
+
+    record Wildcard() implements Segment {
+        @Override
+        public void apply(JsonNode node, Consumer<JsonNode> out) {
+            if (node.isContainerNode()) {
+                node.elements().forEachRemaining(out);
+            }
+        }
+    }
+
+    record Slice(Integer start, Integer end) implements Segment {
+        @Override
+        public void apply(JsonNode node, Consumer<JsonNode> out) {
+            if (!node.isArray()) {
+                return;
+            }
+            int size = node.size();
+            int from = clamp(start == null ? 0 : start, size);
+            int to = clamp(end == null ? size : end, size);
+            for (int i = from; i < to; i++) {
+                out.accept(node.get(i));
+            }
+        }
+
+        private static int clamp(int position, int size) {
+            int resolved = position < 0 ? size + position : position;
+            return Math.max(0, Math.min(size, resolved));
+        }
+    }
+
+    /**
+     * JSON Pointer token: a field name on objects, an index on arrays.
+     */
+    record Token(String property, int index) implements Segment {
+        @Override
+        public void apply(JsonNode node, Consumer<JsonNode> out) {
+            JsonNode child = null;
+            if (node.isObject()) {
+                child = node.get(property);
+            } else if (node.isArray() && index >= 0) {
+                child = node.get(index);
+            }
+            if (child != null) {
+                out.accept(child);
+            }
+        }
+    }
+
+    // ==================== Parsing ====================
+
+    private static List<Segment> compilePointer(String path) {
+        List<Segment> segments = new ArrayList<>();
+        JsonPointer pointer;
+        try {
+            pointer = JsonPointer.compile(path);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Invalid JSON pointer '%s'", path), e);
+        }
+        while (!pointer.matches()) {
+            segments.add(new Token(pointer.getMatchingProperty(), pointer.getMatchingIndex()));
+            pointer = pointer.tail();
+        }
+        return segments;
+    }
+
+    private static List<Segment> compileJsonPath(String path) {
+        List<Segment> segments = new ArrayList<>();
+        int i = 1;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                i++;
+                if (i < path.length() && path.charAt(i) == '*') {
+                    segments.add(new Wildcard());
+                    i++;
+                    continue;
+                }
+                int start = i;
+                while (i < path.length() && path.charAt(i) != '.' && path.charAt(i) != '[') {
+                    i++;
+                }
+                if (start == i) {
+                    throw invalid(path, start);
+                }
+                segments.add(new Field(path.substring(start, i)));
+            } else if (c == '[') {
+                int close = path.indexOf(']', i);
+                if (close < 0) {
+                    throw invalid(path, i);
+                }
+                segments.add(compileBracket(path, path.substring(i + 1, close).trim(), i));
+                i = close + 1;
+            } else {
+                throw invalid(path, i);
+            }
+        }
+        return segments;
+    }
+
+    private static Segment compileBracket(String path, String content, int position) {
+        if (content.equals("*")) {
+            return new Wildcard();
+        }
+        if (content.length() >= 2 && (content.charAt(0) == '\'' || content.charAt(0) == '"')
+                && content.charAt(content.length() - 1) == content.charAt(0)) {
+            return new Field(content.substring(1, content.length() - 1));
+        }
+        try {
+            int colon = content.indexOf(':');
+            if (colon < 0) {
+                return new Index(Integer.parseInt(content));
+            }
+            String start = content.substring(0, colon).trim();
+            String end = content.substring(colon + 1).trim();
+            return new Slice(
+                    start.isEmpty() ? null : Integer.parseInt(start),
+                    end.isEmpty() ? null : Integer.parseInt(end));
+        } catch (NumberFormatException e) {
+            throw invalid(path, position);
+        }
+    }
+
+    private static IllegalArgumentException invalid(String path, int position) {
+        return new IllegalArgumentException(String.format("Invalid JSON path '%s' at position %d", path, position));
+    }
+}
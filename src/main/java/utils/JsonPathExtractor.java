@@ -0,0 +1,94 @@
+package utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pulls several named paths out of a document in one traversal. The paths
+ * are merged into a prefix tree, so a shared prefix such as {@code $.header}
+ * is walked once no matter how many fields are read below it.
+ * Immutable and thread-safe once built.
+ */
+public final class JsonPathExtractor {
+    private final String[] names;
+    private final boolean[] multiValued;
+    private final TrieNode root = new TrieNode(null);
+
+    public JsonPathExtractor(Map<String, JsonPathExpression> namedPaths) {
+        names = namedPaths.keySet().toArray(new String[0]);
+        multiValued = new boolean[names.length];
+        int pathId = 0;
+        for (JsonPathExpression path : namedPaths.values()) {
+            multiValued[pathId] = path.isMultiValued();
+            TrieNode node = root;
+            for (JsonPathExpression.Segment segment : path.segments()) {
+                node = node.child(segment);
+            }
+            node.terminals.add(pathId++);
+        }
+    }
+
+    /**
+     * @return Each name mapped to its node; multi-valued paths map to an array
+     * of all matches. Single-valued paths without a match are absent.
+     * Matched nodes are shared with the document.
+     */
+    public Map<String, JsonNode> extract(JsonNode document) {
+        JsonNode[] results = new JsonNode[names.length];
+        if (document != null) {
+            visit(document, root, results);
+        }
+        Map<String, JsonNode> extracted = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            if (results[i] != null) {
+                extracted.put(names[i], results[i]);
+            } else if (multiValued[i]) {
+                extracted.put(names[i], JsonNodeFactory.instance.arrayNode());
+            }
+        }
+        return extracted;
+    }
+
+    private void visit(JsonNode node, TrieNode trieNode, JsonNode[] results) {
+        for (int pathId : trieNode.terminals) {
+            if (multiValued[pathId]) {
+                if (results[pathId] == null) {
+                    results[pathId] = JsonNodeFactory.instance.arrayNode();
+                }
+                ((ArrayNode) results[pathId]).add(node);
+            } else if (results[pathId] == null) {
+                results[pathId] = node;
+            }
+        }
+        for (TrieNode child : trieNode.children) {
+            child.segment.apply(node, match -> visit(match, child, results));
+        }
+    }
+
+    private static final class TrieNode {
+        private final JsonPathExpression.Segment segment;
+        private final List<TrieNode> children = new ArrayList<>();
+        private final List<Integer> terminals = new ArrayList<>();
+
+        private TrieNode(JsonPathExpression.Segment segment) {
+            this.segment = segment;
+        }
+
+        private TrieNode child(JsonPathExpression.Segment childSegment) {
+            for (TrieNode child : children) {
+                if (child.segment.equals(childSegment)) {
+                    return child;
+                }
+            }
+            TrieNode child = new TrieNode(childSegment);
+            children.add(child);
+            return child;
+        }
+    }
+}
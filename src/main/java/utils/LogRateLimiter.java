@@ -0,0 +1,122 @@
+package utils;
+
+import org.slf4j.event.Level;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides which repeats of a log message template get through, for the
+ * rate-limited and sampled {@link CustomConsole} variants. Counters are
+ * striped {@link LongAdder}s per level and template, so a message recurring on many
+ * threads does not contend on one cache line; limits are therefore
+ * approximate under heavy concurrency. Suppressed occurrences are reported
+ * once per interval as a WARN summary.
+ */
+public class LogRateLimiter implements AutoCloseable {
+    private final CustomConsole customConsole = new CustomConsole();
+    private final int maxPerInterval;
+    private final long intervalMs;
+    private final long intervalNanos;
+    private final Map<Level, Map<String, TemplateCounters>> counters = new EnumMap<>(Level.class);
+    private final ScheduledExecutorService summaryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "custom-console-rate-limit-summary");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final class TemplateCounters {
+        private final AtomicLong windowStart;
+        private final LongAdder windowCount = new LongAdder();
+        private final LongAdder seen = new LongAdder();
+        private final LongAdder suppressed = new LongAdder();
+
+        private TemplateCounters(long now) {
+            this.windowStart = new AtomicLong(now);
+        }
+    }
+
+    /**
+     * @param maxPerInterval Occurrences of one template let through per interval by {@link #tryAcquire}
+     * @param intervalMs Length of the rate-limit window and of the summary period
+     */
+    public LogRateLimiter(int maxPerInterval, long intervalMs) {
+        if (maxPerInterval <= 0 || intervalMs <= 0) {
+            throw new IllegalArgumentException("maxPerInterval and intervalMs must be positive");
+        }
+        this.maxPerInterval = maxPerInterval;
+        this.intervalMs = intervalMs;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+        for (Level level : Level.values()) {
+            counters.put(level, new ConcurrentHashMap<>());
+        }
+        summaryExecutor.scheduleAtFixedRate(this::emitSummary, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return true if the template is still within this interval's limit
+     */
+    public boolean tryAcquire(Level level, String template) {
+        long now = System.nanoTime();
+        TemplateCounters counts = countersFor(level, template, now);
+        counts.seen.increment();
+        long start = counts.windowStart.get();
+        if (now - start >= intervalNanos && counts.windowStart.compareAndSet(start, now)) {
+            counts.windowCount.reset();
+        }
+        counts.windowCount.increment();
+        if (counts.windowCount.sum() <= maxPerInterval) {
+            return true;
+        }
+        counts.suppressed.increment();
+        return false;
+    }
+
+    /**
+     * @return true for the first occurrence of the template in each interval and every oneIn-th after it
+     */
+    public boolean sample(Level level, String template, int oneIn) {
+        TemplateCounters counts = countersFor(level, template, System.nanoTime());
+        counts.seen.increment();
+        if (oneIn <= 1 || (counts.seen.sum() - 1) % oneIn == 0) {
+            return true;
+        }
+        counts.suppressed.increment();
+        return false;
+    }
+
+    @Override
+    public void close() {
+        summaryExecutor.shutdownNow();
+        emitSummary();
+    }
+
+    private TemplateCounters countersFor(Level level, String template, long now) {
+        Map<String, TemplateCounters> levelCounters = counters.get(level);
+        TemplateCounters existing = levelCounters.get(template);
+        return existing != null ? existing : levelCounters.computeIfAbsent(template, t -> new TemplateCounters(now));
+    }
+
+    /**
+     * Reports and resets the suppressed and seen counts, and forgets templates
+     * that were not logged at all during the interval.
+     */
+    private void emitSummary() {
+        counters.forEach((level, levelCounters) -> levelCounters.entrySet().removeIf(entry -> {
+            TemplateCounters template = entry.getValue();
+            long seen = template.seen.sumThenReset();
+            long suppressed = template.suppressed.sumThenReset();
+            if (suppressed > 0) {
+                customConsole.warn("Suppressed {} {} messages \"{}\" in the last {} ms",
+                        suppressed, level, entry.getKey(), intervalMs);
+            }
+            return seen == 0;
+        }));
+    }
+}
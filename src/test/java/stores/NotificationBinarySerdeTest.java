@@ -0,0 +1,153 @@
+package stores;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.junit.jupiter.api.Test;
+import types.NotificationDetailsColumns;
+import types.NotificationDetailsStoreType;
+import types.NotificationSamples;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationBinarySerdeTest {
+    private final NotificationBinarySerde serde = new NotificationBinarySerde();
+
+    @Test
+    void roundTripsSampleRecords() {
+        for (NotificationDetailsStoreType record : NotificationSamples.records(1000, 11)) {
+            byte[] bytes = serde.serializer().serialize("topic", record);
+            assertTrue(NotificationBinarySerde.isBinary(bytes));
+            assertEquals(record, serde.deserializer().deserialize("topic", bytes));
+        }
+    }
+
+    @Test
+    void keepsNullColumnsNull() {
+        NotificationDetailsStoreType empty = NotificationDetailsColumns.fromColumns(new String[NotificationDetailsColumns.COUNT], 0);
+        String[] columns = new String[NotificationDetailsColumns.COUNT];
+        columns[NotificationDetailsColumns.NOTN] = "";
+        columns[NotificationDetailsColumns.CVD_9] = "last";
+        NotificationDetailsStoreType sparse = NotificationDetailsColumns.fromColumns(columns, 7);
+
+        assertEquals(empty, roundTrip(empty));
+        NotificationDetailsStoreType decoded = roundTrip(sparse);
+        assertEquals(sparse, decoded);
+        assertEquals("", decoded.NOTN());
+        assertNull(decoded.NOTN_TYPE());
+    }
+
+    @Test
+    void roundTripsNegativeAndExtremeAmts() {
+        String[] columns = NotificationDetailsColumns.toColumns(NotificationSamples.records(1, 12).get(0));
+        for (int amts : new int[]{-1, -12345, Integer.MIN_VALUE, Integer.MAX_VALUE, 0}) {
+            NotificationDetailsStoreType record = NotificationDetailsColumns.fromColumns(columns, amts);
+            assertEquals(amts, roundTrip(record).AMTS());
+        }
+    }
+
+    @Test
+    void readsJsonValuesWrittenBeforeTheMigration() throws Exception {
+        NotificationDetailsStoreType record = NotificationSamples.records(1, 13).get(0);
+        byte[] json = new ObjectMapper().writeValueAsBytes(record);
+
+        assertFalse(NotificationBinarySerde.isBinary(json));
+        assertEquals(record, serde.deserializer().deserialize("topic", json));
+    }
+
+    @Test
+    void passesNullThrough() {
+        assertNull(serde.serializer().serialize("topic", null));
+        assertNull(serde.deserializer().deserialize("topic", null));
+    }
+
+    @Test
+    void rejectsTruncatedAndUnknownVersions() {
+        byte[] bytes = NotificationBinarySerde.encode(NotificationSamples.records(1, 14).get(0));
+        Deserializer<NotificationDetailsStoreType> deserializer = serde.deserializer();
+
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize("topic", Arrays.copyOf(bytes, bytes.length - 1)));
+        byte[] future = bytes.clone();
+        future[1] = NotificationBinarySerde.VERSION + 1;
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("topic", future));
+    }
+
+    @Test
+    void decodesVersionOneRecords() {
+        NotificationDetailsStoreType record = NotificationSamples.records(1, 15).get(0);
+        String[] columns = NotificationDetailsColumns.toColumns(record);
+        byte[] bytes = handEncode(NotificationBinarySerde.VERSION_1, null, columns, record.AMTS());
+
+        assertEquals(record, serde.deserializer().deserialize("topic", bytes));
+    }
+
+    @Test
+    void skipsColumnsAddedByNewerWriters() {
+        NotificationDetailsStoreType record = NotificationSamples.records(1, 16).get(0);
+        String[] columns = Arrays.copyOf(NotificationDetailsColumns.toColumns(record), NotificationDetailsColumns.COUNT + 3);
+        columns[NotificationDetailsColumns.COUNT] = "added";
+        columns[NotificationDetailsColumns.COUNT + 2] = "also added";
+        byte[] bytes = handEncode(NotificationBinarySerde.VERSION, columns.length, columns, record.AMTS());
+
+        assertEquals(record, serde.deserializer().deserialize("topic", bytes));
+    }
+
+    @Test
+    void leavesColumnsUnknownToOlderWritersNull() {
+        String[] columns = NotificationDetailsColumns.toColumns(NotificationSamples.records(1, 17).get(0));
+        columns[NotificationDetailsColumns.CVD_9] = "dropped";
+        String[] older = Arrays.copyOf(columns, NotificationDetailsColumns.CVD_9);
+        byte[] bytes = handEncode(NotificationBinarySerde.VERSION, older.length, older, 3);
+
+        NotificationDetailsStoreType decoded = serde.deserializer().deserialize("topic", bytes);
+        assertNull(decoded.CVD_9());
+        assertEquals(NotificationDetailsColumns.fromColumns(Arrays.copyOf(older, NotificationDetailsColumns.COUNT), 3), decoded);
+    }
+
+    private static byte[] handEncode(byte version, Integer columnCount, String[] columns, int amts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(NotificationBinarySerde.MAGIC);
+        out.write(version);
+        if (columnCount != null) {
+            writeVarint(out, columnCount);
+        }
+        byte[] bitmap = new byte[(columns.length + 7) / 8];
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] == null) {
+                bitmap[i >>> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        out.writeBytes(bitmap);
+        writeVarint(out, (amts << 1) ^ (amts >> 31));
+        for (String column : columns) {
+            if (column != null) {
+                byte[] bytes = column.getBytes(StandardCharsets.UTF_8);
+                writeVarint(out, bytes.length);
+                out.writeBytes(bytes);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private NotificationDetailsStoreType roundTrip(NotificationDetailsStoreType record) {
+        byte[] bytes = NotificationBinarySerde.encode(record);
+        return NotificationBinarySerde.decode(bytes, 0, bytes.length);
+    }
+}
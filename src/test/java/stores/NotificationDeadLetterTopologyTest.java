@@ -0,0 +1,96 @@
+package stores;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.test.TestRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import types.NotificationSamples;
+import utils.JSONHandler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NotificationDeadLetterTopologyTest {
+    private static final String DEAD_LETTER_TOPIC = "NOTIFICATION_MASTER_DLQ";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationMasterStore store;
+    private TopologyTestDriver driver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StreamsBuilder builder = new StreamsBuilder();
+        StreamsBuilderFactoryBean factoryBean = mock(StreamsBuilderFactoryBean.class);
+        when(factoryBean.getObject()).thenReturn(builder);
+        store = new NotificationMasterStore(factoryBean, new JSONHandler(new ObjectMapper()), meterRegistry);
+        ReflectionTestUtils.setField(store, "storeAwaitTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(store, "topologyMode", NotificationTopologyMode.INTERNAL_TOPIC);
+        ReflectionTestUtils.setField(store, "storeBackend", NotificationStoreBackend.IN_MEMORY);
+        ReflectionTestUtils.setField(store, "storeValueFormat", NotificationValueFormat.JSON);
+        ReflectionTestUtils.setField(store, "internalTopicValueFormat", NotificationValueFormat.JSON);
+        ReflectionTestUtils.setField(store, "bulkLoadSnapshot", "");
+        ReflectionTestUtils.setField(store, "parseErrorMode", NotificationParseErrorMode.DEAD_LETTER);
+        ReflectionTestUtils.setField(store, "deadLetterTopic", DEAD_LETTER_TOPIC);
+        store.init();
+
+        Properties config = new Properties();
+        config.put(StreamsConfig.APPLICATION_ID_CONFIG, "notification-dead-letter-test");
+        config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        driver = new TopologyTestDriver(builder.build(), config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+        store.destroy();
+    }
+
+    @Test
+    void sendsMalformedRecordsToTheDeadLetterTopicWithTheirSource() throws Exception {
+        TestInputTopic<String, byte[]> input = driver.createInputTopic(NotificationMasterStore.NOTIFICATION_MASTER_TOPIC,
+                Serdes.String().serializer(), Serdes.ByteArray().serializer());
+        TestOutputTopic<String, byte[]> deadLetters = driver.createOutputTopic(DEAD_LETTER_TOPIC,
+                Serdes.String().deserializer(), Serdes.ByteArray().deserializer());
+        byte[] valid = new ObjectMapper().writeValueAsBytes(NotificationSamples.records(1, 21).get(0));
+        byte[] malformed = "{\"NOTN\": ".getBytes(StandardCharsets.UTF_8);
+
+        input.pipeInput("good", valid);
+        input.pipeInput("bad", malformed);
+
+        TestRecord<String, byte[]> deadLetter = deadLetters.readRecord();
+        assertEquals("bad", deadLetter.key());
+        assertEquals(new String(malformed, StandardCharsets.UTF_8), new String(deadLetter.value(), StandardCharsets.UTF_8));
+        assertNotNull(deadLetter.headers().lastHeader(NotificationParseProcessor.ERROR_HEADER));
+        assertEquals(NotificationMasterStore.NOTIFICATION_MASTER_TOPIC, header(deadLetter, NotificationParseProcessor.TOPIC_HEADER));
+        assertEquals("0", header(deadLetter, NotificationParseProcessor.PARTITION_HEADER));
+        assertEquals("1", header(deadLetter, NotificationParseProcessor.OFFSET_HEADER));
+        assertTrue(deadLetters.isEmpty());
+
+        assertEquals(1.0, meterRegistry.get("notification.parse.records").tag("result", "parsed").counter().count());
+        assertEquals(1.0, meterRegistry.get("notification.parse.records").tag("result", "failed").counter().count());
+        assertEquals(1.0, meterRegistry.get("notification.parse.dead.lettered").counter().count());
+    }
+
+    private static String header(TestRecord<String, byte[]> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
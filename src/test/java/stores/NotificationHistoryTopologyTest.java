@@ -0,0 +1,97 @@
+package stores;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.VersionedKeyValueStore;
+import org.apache.kafka.streams.state.VersionedRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import types.NotificationDetailsColumns;
+import types.NotificationDetailsStoreType;
+import types.NotificationSamples;
+import utils.JSONHandler;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NotificationHistoryTopologyTest {
+    private static final long RETENTION_MS = 10_000;
+
+    @TempDir
+    Path stateDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private NotificationMasterStore store;
+    private TopologyTestDriver driver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StreamsBuilder builder = new StreamsBuilder();
+        StreamsBuilderFactoryBean factoryBean = mock(StreamsBuilderFactoryBean.class);
+        when(factoryBean.getObject()).thenReturn(builder);
+        store = new NotificationMasterStore(factoryBean, new JSONHandler(objectMapper), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(store, "storeAwaitTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(store, "topologyMode", NotificationTopologyMode.INTERNAL_TOPIC);
+        ReflectionTestUtils.setField(store, "storeBackend", NotificationStoreBackend.IN_MEMORY);
+        ReflectionTestUtils.setField(store, "storeValueFormat", NotificationValueFormat.JSON);
+        ReflectionTestUtils.setField(store, "internalTopicValueFormat", NotificationValueFormat.JSON);
+        ReflectionTestUtils.setField(store, "bulkLoadSnapshot", "");
+        ReflectionTestUtils.setField(store, "parseErrorMode", NotificationParseErrorMode.SKIP);
+        ReflectionTestUtils.setField(store, "deadLetterTopic", "NOTIFICATION_MASTER_DLQ");
+        ReflectionTestUtils.setField(store, "historyEnabled", true);
+        ReflectionTestUtils.setField(store, "historyRetentionMs", RETENTION_MS);
+        store.init();
+
+        Properties config = new Properties();
+        config.put(StreamsConfig.APPLICATION_ID_CONFIG, "notification-history-test");
+        config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        config.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+        driver = new TopologyTestDriver(builder.build(), config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+        store.destroy();
+    }
+
+    @Test
+    void keepsSupersededVersionsForAsOfLookups() throws Exception {
+        TestInputTopic<String, byte[]> input = driver.createInputTopic(NotificationMasterStore.NOTIFICATION_MASTER_TOPIC,
+                Serdes.String().serializer(), Serdes.ByteArray().serializer());
+        NotificationDetailsStoreType original = NotificationSamples.records(1, 31).get(0);
+        String[] columns = NotificationDetailsColumns.toColumns(original);
+        columns[NotificationDetailsColumns.AMND_REF] = "AMD/1";
+        NotificationDetailsStoreType amended = NotificationDetailsColumns.fromColumns(columns, original.AMTS());
+
+        input.pipeInput("key", objectMapper.writeValueAsBytes(original), Instant.ofEpochMilli(1_000));
+        input.pipeInput("key", objectMapper.writeValueAsBytes(amended), Instant.ofEpochMilli(5_000));
+
+        VersionedKeyValueStore<String, NotificationDetailsStoreType> history =
+                driver.getVersionedKeyValueStore(NotificationMasterStore.NOTIFICATION_MASTER_HISTORY);
+        assertNull(history.get("key", 999));
+        assertEquals(original, value(history.get("key", 1_000)));
+        assertEquals(original, value(history.get("key", 4_999)));
+        assertEquals(amended, value(history.get("key", 5_000)));
+        assertEquals(amended, value(history.get("key")));
+    }
+
+    private static NotificationDetailsStoreType value(VersionedRecord<NotificationDetailsStoreType> record) {
+        return record != null ? record.value() : null;
+    }
+}
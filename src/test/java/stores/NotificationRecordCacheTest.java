@@ -0,0 +1,74 @@
+package stores;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import types.CompactNotificationRecord;
+import types.NotificationDetailsColumns;
+import types.NotificationDetailsStoreType;
+import types.NotificationFieldDictionary;
+import types.NotificationSamples;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationRecordCacheTest {
+    private static final long MAX_WEIGHT = 1L << 30;
+
+    @Test
+    void compactEntriesDecodeToTheLoadedRecords() {
+        NotificationRecordCache cache = new NotificationRecordCache(MAX_WEIGHT, new NotificationFieldDictionary(4096));
+        List<NotificationDetailsStoreType> records = NotificationSamples.records(1000, 1);
+        for (int i = 0; i < records.size(); i++) {
+            NotificationDetailsStoreType record = records.get(i);
+            cache.get("key-" + i, key -> record);
+        }
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(records.get(i), cache.getIfPresent("key-" + i));
+        }
+    }
+
+    @Test
+    void missesAreLoadedOnceAndAbsentRecordsAreNotCached() {
+        NotificationRecordCache cache = new NotificationRecordCache(MAX_WEIGHT);
+        NotificationDetailsStoreType record = NotificationSamples.records(1, 2).get(0);
+
+        assertNull(cache.getIfPresent("a"));
+        assertSame(record, cache.load("a", key -> record));
+        assertSame(record, cache.get("a", key -> {
+            throw new AssertionError("loaded a cached key");
+        }));
+        assertNull(cache.get("b", key -> null));
+        assertNull(cache.getIfPresent("b"));
+    }
+
+    @Test
+    void compactEntriesTakeLessHeapThanPlainRecords() {
+        // every deserialized record owns its strings, unlike the shared literals of the samples
+        List<NotificationDetailsStoreType> plain = NotificationSamples.records(10_000, 3).stream()
+                .map(NotificationRecordCacheTest::withOwnStrings)
+                .toList();
+        NotificationFieldDictionary dictionary = new NotificationFieldDictionary(4096);
+        List<CompactNotificationRecord> compact = plain.stream()
+                .map(record -> CompactNotificationRecord.of(record, dictionary))
+                .toList();
+
+        long plainBytes = GraphLayout.parseInstance(plain).totalSize();
+        long compactBytes = GraphLayout.parseInstance(compact, dictionary).totalSize();
+        assertTrue(compactBytes < plainBytes * 3 / 4,
+                String.format("compact entries take %d bytes against %d for plain records", compactBytes, plainBytes));
+    }
+
+    private static NotificationDetailsStoreType withOwnStrings(NotificationDetailsStoreType record) {
+        String[] columns = NotificationDetailsColumns.toColumns(record);
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] != null) {
+                columns[i] = new String(columns[i].toCharArray());
+            }
+        }
+        return NotificationDetailsColumns.fromColumns(columns, record.AMTS());
+    }
+}
@@ -0,0 +1,189 @@
+package stores;
+
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapKeyValueStoreTest {
+    private static final int SLAB_BYTES = 1024;
+
+    @Test
+    void putsOverwritesAndDeletes() {
+        OffHeapKeyValueStore store = new OffHeapKeyValueStore("test", SLAB_BYTES);
+
+        assertNull(store.get(key("a")));
+        store.put(key("a"), value("1"));
+        store.put(key("b"), value("2"));
+        assertArrayEquals(value("1"), store.get(key("a")));
+
+        store.put(key("a"), value("one"));
+        assertArrayEquals(value("one"), store.get(key("a")));
+        assertEquals(2, store.approximateNumEntries());
+
+        assertArrayEquals(value("one"), store.delete(key("a")));
+        assertNull(store.get(key("a")));
+        assertNull(store.delete(key("a")));
+        assertArrayEquals(value("2"), store.putIfAbsent(key("b"), value("3")));
+        store.put(key("b"), null);
+        assertEquals(0, store.approximateNumEntries());
+    }
+
+    @Test
+    void keepsAllKeysAcrossRehashes() {
+        OffHeapKeyValueStore store = new OffHeapKeyValueStore("test", 1 << 16);
+        int count = 20_000;
+        for (int i = 0; i < count; i++) {
+            store.put(key("k" + i), value("v" + i));
+        }
+        for (int i = 0; i < count; i += 2) {
+            store.delete(key("k" + i));
+        }
+        for (int i = 0; i < count; i++) {
+            store.put(key("n" + i), value("w" + i));
+        }
+
+        assertEquals(count / 2 + count, store.approximateNumEntries());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 2 == 0 ? null : "v" + i, string(store.get(key("k" + i))));
+            assertEquals("w" + i, string(store.get(key("n" + i))));
+        }
+    }
+
+    @Test
+    void compactionReclaimsOverwrittenRecords() {
+        OffHeapKeyValueStore store = new OffHeapKeyValueStore("test", SLAB_BYTES);
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < 100; i++) {
+                store.put(key(String.format("key-%03d", i)), value("value-" + round + "-" + i));
+            }
+        }
+
+        assertTrue(store.reservedBytes() < 32 * SLAB_BYTES,
+                "overwritten records should be compacted away, reserved " + store.reservedBytes());
+        List<String> keys = new ArrayList<>();
+        try (KeyValueIterator<Bytes, byte[]> iterator = store.all()) {
+            while (iterator.hasNext()) {
+                KeyValue<Bytes, byte[]> entry = iterator.next();
+                keys.add(string(entry.key.get()));
+                assertTrue(string(entry.value).startsWith("value-199-"));
+            }
+        }
+        assertEquals(100, keys.size());
+        assertEquals("key-000", keys.get(0));
+        assertEquals("key-099", keys.get(99));
+    }
+
+    @Test
+    void rangesMatchASortedMap() {
+        OffHeapKeyValueStore store = new OffHeapKeyValueStore("test", SLAB_BYTES);
+        NavigableMap<String, String> expected = new TreeMap<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 5000; i++) {
+            String k = randomKey(random);
+            if (random.nextInt(5) == 0) {
+                store.delete(key(k));
+                expected.remove(k);
+            } else {
+                store.put(key(k), value("v" + i));
+                expected.put(k, "v" + i);
+            }
+        }
+
+        assertEquals(new ArrayList<>(expected.keySet()), keys(store.all()));
+        assertEquals(new ArrayList<>(expected.descendingKeySet()), keys(store.reverseAll()));
+        for (int i = 0; i < 50; i++) {
+            String from = randomKey(random);
+            String to = randomKey(random);
+            if (from.compareTo(to) > 0) {
+                String swap = from;
+                from = to;
+                to = swap;
+            }
+            assertEquals(new ArrayList<>(expected.subMap(from, true, to, true).keySet()),
+                    keys(store.range(key(from), key(to))));
+            assertEquals(new ArrayList<>(expected.subMap(from, true, to, true).descendingKeySet()),
+                    keys(store.reverseRange(key(from), key(to))));
+        }
+        for (String prefix : new String[]{"a", "b", "ab", "zz", "c0"}) {
+            List<String> withPrefix = new ArrayList<>();
+            for (String k : expected.tailMap(prefix, true).keySet()) {
+                if (!k.startsWith(prefix)) {
+                    break;
+                }
+                withPrefix.add(k);
+            }
+            assertEquals(withPrefix, keys(store.prefixScan(prefix, Serdes.String().serializer())));
+        }
+    }
+
+    @Test
+    void iteratorsSeeWritesMadeWhileIterating() {
+        OffHeapKeyValueStore store = new OffHeapKeyValueStore("test", SLAB_BYTES);
+        for (int i = 0; i < 2000; i++) {
+            store.put(key(String.format("k%05d", i * 2)), value("v"));
+        }
+
+        List<String> seen = new ArrayList<>();
+        try (KeyValueIterator<Bytes, byte[]> iterator = store.all()) {
+            while (iterator.hasNext()) {
+                seen.add(string(iterator.next().key.get()));
+                if (seen.size() == 1000) {
+                    store.delete(key("k03000"));
+                    store.put(key("k03001"), value("v"));
+                    store.put(key("k00001"), value("v"));
+                }
+            }
+        }
+
+        assertTrue(seen.contains("k03001"));
+        assertTrue(!seen.contains("k03000") && !seen.contains("k00001"));
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1).compareTo(seen.get(i)) < 0, "keys out of order at " + seen.get(i));
+        }
+    }
+
+    private static String randomKey(Random random) {
+        int length = 1 + random.nextInt(4);
+        StringBuilder key = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            key.append("abc0z".charAt(random.nextInt(5)));
+        }
+        return key.toString();
+    }
+
+    private static List<String> keys(KeyValueIterator<Bytes, byte[]> iterator) {
+        List<String> keys = new ArrayList<>();
+        try (iterator) {
+            while (iterator.hasNext()) {
+                keys.add(string(iterator.next().key.get()));
+            }
+        }
+        return keys;
+    }
+
+    private static Bytes key(String key) {
+        return Bytes.wrap(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] value(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] bytes) {
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+}
@@ -0,0 +1,81 @@
+package types;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates notification records shaped like the master data: repeated codes,
+ * units and dates, free-text descriptions and sparsely filled CVD, amendment
+ * and anti-dumping columns.
+ */
+public final class NotificationSamples {
+    private static final String[] UQC = {"KGS", "NOS", "LTR", "MTR", "SQM", "TON"};
+    private static final String[] CNTRY = {"CN", "JP", "KR", "US", "DE", "TH", "VN", "MY", null, null, null, null};
+
+    private NotificationSamples() {
+    }
+
+    public static List<NotificationDetailsStoreType> records(int count, long seed) {
+        Random random = new Random(seed);
+        List<NotificationDetailsStoreType> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(record(random, i));
+        }
+        return records;
+    }
+
+    public static NotificationDetailsStoreType record(Random random, int serial) {
+        boolean cvd = random.nextInt(4) == 0;
+        boolean antiDump = random.nextInt(10) == 0;
+        boolean amended = random.nextInt(3) == 0;
+        return new NotificationDetailsStoreType(
+                String.format("%03d/%d", 1 + random.nextInt(120), 2012 + random.nextInt(12)),
+                random.nextBoolean() ? "T" : "N",
+                "2017-06-30",
+                "CUS",
+                random.nextInt(5) == 0 ? "INMAA1" : null,
+                random.nextInt(8) == 0 ? "Y" : "N",
+                CNTRY[random.nextInt(CNTRY.length)],
+                String.valueOf(serial),
+                random.nextInt(3) == 0 ? "(" + (char) ('a' + random.nextInt(6)) + ")" : null,
+                random.nextInt(4) == 0 ? String.valueOf(random.nextInt(90)) : null,
+                String.format("%08d", 1000000 + random.nextInt(98000000)),
+                "Goods of heading " + String.format("%04d", random.nextInt(9999))
+                        + ", other than those specified in item " + random.nextInt(500) + " of the Table",
+                random.nextInt(4) == 0 ? "Nil" : random.nextInt(30) + "%",
+                random.nextInt(10000),
+                UQC[random.nextInt(UQC.length)],
+                random.nextInt(6) == 0 ? "A" : "N",
+                random.nextInt(3) == 0 ? String.valueOf(1 + random.nextInt(120)) : null,
+                cvd ? "12.5%" : null,
+                cvd ? "0" : null,
+                cvd ? UQC[random.nextInt(UQC.length)] : null,
+                cvd ? "N" : null,
+                amended ? "AMD/" + random.nextInt(999) : null,
+                null,
+                random.nextInt(5) == 0 ? "Subject to condition No. " + random.nextInt(120) + " of the Annexure" : null,
+                random.nextInt(5) == 0 ? "2025-03-31" : null,
+                amended ? String.format("%03d/%d", 1 + random.nextInt(120), 2018 + random.nextInt(6)) : null,
+                amended ? "2019-02-01" : null,
+                amended ? String.valueOf(random.nextInt(600)) : null,
+                random.nextInt(20) == 0 ? "I" : "A",
+                antiDump ? "Y" : "N",
+                amended ? "USR" + random.nextInt(40) : null,
+                amended ? "2019-02-01" : null,
+                "USR" + random.nextInt(40),
+                "2017-07-01",
+                random.nextInt(3) == 0 ? "Y" : "N",
+                null,
+                null,
+                random.nextInt(10) == 0 ? "B1" : null,
+                random.nextInt(4) == 0 ? "S" + random.nextInt(9) : null,
+                random.nextInt(10) == 0 ? "D" : null,
+                "USR" + random.nextInt(40),
+                "2017-07-01",
+                "2017-06-30",
+                antiDump ? "Y" : null,
+                cvd ? "0" : null
+        );
+    }
+}
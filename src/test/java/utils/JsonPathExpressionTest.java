@@ -0,0 +1,84 @@
+package utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonPathExpressionTest {
+    private static final String DOCUMENT = """
+            {"notn": "050/2017", "a/b": 1, "items": [
+              {"slno": "1", "rates": [10, 20]},
+              {"slno": "2", "rates": [30]},
+              {"slno": "3", "rates": []},
+              {"slno": "4"}
+            ]}""";
+
+    private final JsonNode root;
+
+    JsonPathExpressionTest() throws Exception {
+        root = new ObjectMapper().readTree(DOCUMENT);
+    }
+
+    @Test
+    void readsJsonPointers() {
+        assertEquals("050/2017", JsonPathExpression.compile("/notn").first(root).asText());
+        assertEquals("2", JsonPathExpression.compile("/items/1/slno").first(root).asText());
+        assertEquals(1, JsonPathExpression.compile("/a~1b").first(root).asInt());
+        assertSame(root, JsonPathExpression.compile("").first(root));
+        assertNull(JsonPathExpression.compile("/items/9/slno").first(root));
+    }
+
+    @Test
+    void readsFieldsAndIndexes() {
+        assertEquals("050/2017", JsonPathExpression.compile("$.notn").first(root).asText());
+        assertEquals("050/2017", JsonPathExpression.compile("$['notn']").first(root).asText());
+        assertEquals(1, JsonPathExpression.compile("$[\"a/b\"]").first(root).asInt());
+        assertEquals("1", JsonPathExpression.compile("$.items[0].slno").first(root).asText());
+        assertEquals("4", JsonPathExpression.compile("$.items[-1].slno").first(root).asText());
+        assertNull(JsonPathExpression.compile("$.items[-5].slno").first(root));
+        assertNull(JsonPathExpression.compile("$.notn.missing").first(root));
+        assertFalse(JsonPathExpression.compile("$.items[0].slno").isMultiValued());
+    }
+
+    @Test
+    void selectsWildcardsInDocumentOrder() {
+        JsonPathExpression slnos = JsonPathExpression.compile("$.items[*].slno");
+
+        assertTrue(slnos.isMultiValued());
+        assertEquals(List.of("1", "2", "3", "4"), texts(slnos.select(root)));
+        assertEquals(List.of("10", "20", "30"), texts(JsonPathExpression.compile("$.items.*.rates[*]").select(root)));
+        assertEquals("10", JsonPathExpression.compile("$.items[*].rates[*]").first(root).asText());
+    }
+
+    @Test
+    void selectsSlices() {
+        assertEquals(List.of("2", "3"), texts(JsonPathExpression.compile("$.items[1:3].slno").select(root)));
+        assertEquals(List.of("1", "2"), texts(JsonPathExpression.compile("$.items[:2].slno").select(root)));
+        assertEquals(List.of("3", "4"), texts(JsonPathExpression.compile("$.items[-2:].slno").select(root)));
+        assertEquals(List.of("1", "2", "3", "4"), texts(JsonPathExpression.compile("$.items[:].slno").select(root)));
+        assertEquals(List.of(), texts(JsonPathExpression.compile("$.items[3:1].slno").select(root)));
+        assertEquals(List.of("1", "2", "3", "4"), texts(JsonPathExpression.compile("$.items[-10:10].slno").select(root)));
+        assertTrue(JsonPathExpression.compile("$.notn[0:1]").select(root).isEmpty());
+    }
+
+    @Test
+    void rejectsMalformedPaths() {
+        for (String path : new String[]{"notn", "$.", "$.items[", "$.items[x]", "$.items[1:y]", "$notn"}) {
+            assertThrows(IllegalArgumentException.class, () -> JsonPathExpression.compile(path), path);
+        }
+        assertThrows(IllegalArgumentException.class, () -> JsonPathExpression.compile(null));
+    }
+
+    private static List<String> texts(List<JsonNode> nodes) {
+        return nodes.stream().map(JsonNode::asText).toList();
+    }
+}
@@ -0,0 +1,42 @@
+package utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogRateLimiterTest {
+    private final LogRateLimiter limiter = new LogRateLimiter(2, 60_000);
+
+    @AfterEach
+    void tearDown() {
+        limiter.close();
+    }
+
+    @Test
+    void limitsEachTemplatePerInterval() {
+        assertTrue(limiter.tryAcquire(Level.WARN, "Retrying {}"));
+        assertTrue(limiter.tryAcquire(Level.WARN, "Retrying {}"));
+        assertFalse(limiter.tryAcquire(Level.WARN, "Retrying {}"));
+        assertTrue(limiter.tryAcquire(Level.WARN, "Giving up on {}"));
+    }
+
+    @Test
+    void keepsSeparateBudgetsPerLevel() {
+        assertTrue(limiter.tryAcquire(Level.WARN, "Retrying {}"));
+        assertTrue(limiter.tryAcquire(Level.WARN, "Retrying {}"));
+        assertFalse(limiter.tryAcquire(Level.WARN, "Retrying {}"));
+        assertTrue(limiter.tryAcquire(Level.INFO, "Retrying {}"));
+    }
+
+    @Test
+    void samplesTheFirstAndEveryNthOccurrence() {
+        assertTrue(limiter.sample(Level.DEBUG, "Loaded {}", 3));
+        assertFalse(limiter.sample(Level.DEBUG, "Loaded {}", 3));
+        assertFalse(limiter.sample(Level.DEBUG, "Loaded {}", 3));
+        assertTrue(limiter.sample(Level.DEBUG, "Loaded {}", 3));
+        assertTrue(limiter.sample(Level.INFO, "Loaded {}", 3));
+    }
+}
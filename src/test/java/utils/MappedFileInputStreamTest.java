@@ -0,0 +1,100 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedFileInputStreamTest {
+    private static final int WINDOW_BYTES = 64;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsSingleBytesAcrossWindows() throws IOException {
+        byte[] content = content(1000);
+        try (MappedFileInputStream in = new MappedFileInputStream(write(content), WINDOW_BYTES)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != -1) {
+                out.write(b);
+            }
+            assertArrayEquals(content, out.toByteArray());
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void readsArraysAcrossWindows() throws IOException {
+        byte[] content = content(1000);
+        try (MappedFileInputStream in = new MappedFileInputStream(write(content), WINDOW_BYTES)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[100];
+            int count;
+            while ((count = in.read(buffer, 0, buffer.length)) != -1) {
+                // a read never spans two windows
+                assertTrue(count <= WINDOW_BYTES);
+                out.write(buffer, 0, count);
+            }
+            assertArrayEquals(content, out.toByteArray());
+        }
+        try (MappedFileInputStream in = new MappedFileInputStream(write(content), WINDOW_BYTES)) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void skipsWithinAndAcrossWindows() throws IOException {
+        byte[] content = content(1000);
+        try (MappedFileInputStream in = new MappedFileInputStream(write(content), WINDOW_BYTES)) {
+            assertEquals(content[0] & 0xFF, in.read());
+            assertEquals(10, in.skip(10));
+            assertEquals(content[11] & 0xFF, in.read());
+            assertEquals(300, in.skip(300));
+            assertEquals(content[312] & 0xFF, in.read());
+            assertEquals(1000 - 313, in.available());
+            assertEquals(1000 - 313, in.skip(5000));
+            assertEquals(0, in.available());
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void readsEmptyFiles() throws IOException {
+        try (MappedFileInputStream in = new MappedFileInputStream(write(new byte[0]), WINDOW_BYTES)) {
+            assertEquals(-1, in.read());
+            assertEquals(-1, in.read(new byte[8], 0, 8));
+            assertEquals(0, in.read(new byte[8], 0, 0));
+        }
+    }
+
+    @Test
+    void rejectsNonPositiveWindows() throws IOException {
+        File file = write(content(10));
+        assertThrows(IllegalArgumentException.class, () -> new MappedFileInputStream(file, 0));
+    }
+
+    private File write(byte[] content) throws IOException {
+        Path file = Files.createTempFile(directory, "mapped", ".bin");
+        Files.write(file, content);
+        return file.toFile();
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) (i * 31 + 7);
+        }
+        return content;
+    }
+}